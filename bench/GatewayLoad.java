@@ -0,0 +1,98 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Нагрузка шлюза замкнутым циклом: каждое из CONNECTIONS соединений отправляет следующий запрос
+ * сразу после ответа на предыдущий. Печатает пропускную способность и перцентили задержки.
+ * Запуск: java bench/GatewayLoad.java [url] [соединения] [секунды] [прогрев, секунды]
+ */
+public class GatewayLoad {
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/users/1");
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        List<Recorder> recorders = new ArrayList<>();
+        Map<String, Integer> errors = new ConcurrentHashMap<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                executor.submit(() -> {
+                    long now = System.nanoTime();
+
+                    while (now < end) {
+                        try {
+                            HttpResponse<Void> response = client.send(request,
+                                    HttpResponse.BodyHandlers.discarding());
+                            long finished = System.nanoTime();
+
+                            if (response.statusCode() != 200) {
+                                errors.merge("HTTP " + response.statusCode(), 1, Integer::sum);
+                            } else if (now >= warmupEnd && finished < end) {
+                                recorder.add(finished - now);
+                            }
+                            now = finished;
+                        } catch (Exception e) {
+                            errors.merge(e.getClass().getSimpleName(), 1, Integer::sum);
+                            now = System.nanoTime();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.values, 0, recorder.count))
+                .sorted()
+                .toArray();
+
+        System.out.printf("Соединений: %d, длительность: %d с%n", connections, duration.toSeconds());
+        System.out.printf("Запросов: %d, запросов/с: %.0f, ошибки: %s%n",
+                all.length, all.length / (double) duration.toSeconds(), errors);
+        System.out.printf("p50: %.1f мс, p99: %.1f мс, max: %.1f мс%n",
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static class Recorder {
+        private long[] values = new long[256];
+        private int count;
+
+        void add(long value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,52 @@
+-- Сравнение способов поиска вещей на синтетическом каталоге из 1 000 000 вещей.
+-- Запуск на базе из compose.yaml после старта основного сервиса (схема и индексы уже созданы):
+--   psql -h localhost -p 6542 -U shareit -d shareit -f bench/item-search.sql
+-- Скрипт работает в транзакции и откатывает созданные данные.
+-- Результаты на PostgreSQL 16 (Execution Time): LIKE — 0,2 мс, полнотекстовый — 430–480 мс,
+-- нечёткий — 5,1–5,5 с.
+
+\timing on
+
+BEGIN;
+
+INSERT INTO users (name, email) VALUES ('bench', 'bench@shareit.bench');
+
+INSERT INTO items (user_id, name, description, available)
+SELECT u.id,
+       (ARRAY['Дрель', 'Перфоратор', 'Шуруповёрт', 'Пила', 'Лобзик', 'Болгарка', 'Рубанок', 'Стремянка'])[1 + g % 8]
+           || ' ' || md5(g::text),
+       (ARRAY['аккумуляторная', 'ударная', 'сетевая', 'лёгкая', 'мощная', 'компактная'])[1 + g % 6]
+           || ' модель ' || g,
+       g % 10 <> 0
+FROM users AS u, generate_series(1, 1000000) AS g
+WHERE u.email = 'bench@shareit.bench';
+
+ANALYZE items;
+
+-- Подстрока (shareit.search.mode: LIKE)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM items
+WHERE available = true
+AND (upper(name) LIKE upper('%перфоратор%') OR upper(description) LIKE upper('%перфоратор%'))
+ORDER BY id
+LIMIT 10 OFFSET 0;
+
+-- Полнотекстовый поиск (shareit.search.mode: FULL_TEXT)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT it.id
+FROM items AS it, plainto_tsquery('russian', 'перфоратор') AS query
+WHERE it.available = true
+AND it.search_vector @@ query
+ORDER BY ts_rank(it.search_vector, query) DESC, it.id
+LIMIT 10 OFFSET 0;
+
+-- Нечёткий поиск с опечаткой (fuzzy=true)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT it.id
+FROM items AS it
+WHERE it.available = true
+AND ('пефоратор' <% it.name OR 'пефоратор' <% it.description)
+ORDER BY greatest(word_similarity('пефоратор', it.name), word_similarity('пефоратор', it.description)) DESC, it.id
+LIMIT 10 OFFSET 0;
+
+ROLLBACK;
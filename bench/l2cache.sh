@@ -0,0 +1,51 @@
+#!/bin/sh
+# Число SQL-запросов на один HTTP-запрос к основному сервису.
+# Сервис должен быть запущен со статистикой Hibernate:
+#   без кэша: --spring.jpa.properties.hibernate.generate_statistics=true
+#   с кэшем:  --spring.profiles.active=l2cache
+# Запуск: sh bench/l2cache.sh [http://localhost:9090] [число запросов]
+
+SERVER=${1:-http://localhost:9090}
+REQUESTS=${2:-100}
+SUFFIX=$(date +%s)
+
+statements() {
+  curl -s "$SERVER/actuator/metrics/hibernate.statements?tag=status:prepared" \
+    | sed 's/.*"value":\([0-9.]*\).*/\1/'
+}
+
+id() {
+  sed 's/^{"id":\([0-9]*\).*/\1/'
+}
+
+json() {
+  curl -s -X "$1" "$SERVER$2" -H "Content-Type: application/json" -H "X-Sharer-User-Id: $3" -d "$4"
+}
+
+OWNER=$(json POST /users 0 "{\"name\":\"owner\",\"email\":\"owner$SUFFIX@bench\"}" | id)
+BOOKER=$(json POST /users 0 "{\"name\":\"booker\",\"email\":\"booker$SUFFIX@bench\"}" | id)
+ITEM=$(json POST /items "$OWNER" '{"name":"Дрель","description":"Простая дрель","available":true}' | id)
+for i in 1 2 3 4 5; do
+  json POST /items "$OWNER" "{\"name\":\"Вещь $i\",\"description\":\"Описание\",\"available\":true}" > /dev/null
+done
+START=$(date -d '+1 day' +%Y-%m-%dT%H:%M:%S)
+END=$(date -d '+2 day' +%Y-%m-%dT%H:%M:%S)
+BOOKING=$(json POST /bookings "$BOOKER" "{\"itemId\":$ITEM,\"start\":\"$START\",\"end\":\"$END\"}" | id)
+
+measure() {
+  BEFORE=$(statements)
+  i=0
+  while [ $i -lt "$REQUESTS" ]; do
+    curl -s -o /dev/null "$SERVER$2" -H "X-Sharer-User-Id: $3"
+    i=$((i + 1))
+  done
+  AFTER=$(statements)
+  awk -v name="$1" -v before="$BEFORE" -v after="$AFTER" -v n="$REQUESTS" \
+    'BEGIN { printf "%s: %.2f SQL/запрос\n", name, (after - before) / n }'
+}
+
+measure "GET /items/{id}" "/items/$ITEM" "$OWNER"
+measure "GET /items" "/items" "$OWNER"
+measure "GET /bookings/{id}" "/bookings/$BOOKING" "$BOOKER"
+measure "GET /bookings" "/bookings" "$BOOKER"
+measure "GET /bookings/owner" "/bookings/owner" "$OWNER"
@@ -0,0 +1,44 @@
+#!/bin/sh
+# Число одновременно обрабатываемых шлюзом запросов при зависшем основном сервисе.
+# Основной сервис приостанавливается на PAUSE секунд, за это время в шлюз отправляется
+# CONCURRENCY запросов; считаются соединения шлюза с сервисом, ожидающие ответа.
+# Сервис запускается с очередью соединений не меньше CONCURRENCY: --server.tomcat.accept-count=1000.
+# Шлюз запускается с одинаковым -Xmx в обоих режимах:
+#   пул потоков:        java -Xmx256m -jar gateway.jar (server.tomcat.threads.max по умолчанию, 200)
+#   виртуальные потоки: java -Xmx256m -jar gateway.jar --spring.profiles.active=virtual-threads
+# Запуск: sh bench/virtual-threads.sh <pid сервиса> <pid шлюза> [http://localhost:8080] [9090] [500] [5]
+
+SERVER_PID=$1
+GATEWAY_PID=$2
+GATEWAY=${3:-http://localhost:8080}
+SERVER_PORT=${4:-9090}
+CONCURRENCY=${5:-500}
+PAUSE=${6:-5}
+SUFFIX=$(date +%s)
+CODES=$(mktemp)
+
+USER=$(curl -s -X POST "$GATEWAY/users" -H "Content-Type: application/json" \
+  -d "{\"name\":\"user\",\"email\":\"user$SUFFIX@bench\"}" | sed 's/^{"id":\([0-9]*\).*/\1/')
+
+in_flight() {
+  cat /proc/net/tcp /proc/net/tcp6 2>/dev/null \
+    | awk -v port="$(printf ':%04X' "$SERVER_PORT")" '$4 == "01" && substr($3, length($3) - 4) == port' \
+    | wc -l
+}
+
+kill -STOP "$SERVER_PID"
+i=0
+while [ $i -lt "$CONCURRENCY" ]; do
+  curl -s -o /dev/null -w '%{http_code}\n' "$GATEWAY/users/$USER" >> "$CODES" &
+  i=$((i + 1))
+done
+sleep "$PAUSE"
+IN_FLIGHT=$(in_flight)
+kill -CONT "$SERVER_PID"
+wait
+
+echo "Запросов: $CONCURRENCY"
+echo "Ожидают ответа сервиса: $IN_FLIGHT"
+echo "Успешных ответов: $(grep -c '^200$' "$CODES")"
+grep VmHWM "/proc/$GATEWAY_PID/status"
+rm -f "$CODES"
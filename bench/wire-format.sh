@@ -0,0 +1,68 @@
+#!/bin/sh
+# Размер ответа основного сервиса и процессорное время на запрос к спискам бронирований
+# в зависимости от формата обмена между шлюзом и основным сервисом.
+# Размер измеряется запросами к основному сервису с Accept: application/json и application/x-jackson-smile,
+# время — по /proc/<pid>/stat сервиса и шлюза за REQUESTS последовательных запросов к шлюзу.
+# Шлюз запускается без ограничения частоты: --shareit.rate-limit.enabled=false.
+# Сервис запускается дважды, формат выбирается его настройкой:
+#   JSON:  java -jar server.jar
+#   Smile: java -jar server.jar --shareit.smile.enabled=true
+# Запуск: sh bench/wire-format.sh <pid сервиса> <pid шлюза> [http://localhost:8080] [http://localhost:9090] [2000] [50]
+
+SERVER_PID=$1
+GATEWAY_PID=$2
+GATEWAY=${3:-http://localhost:8080}
+SERVER=${4:-http://localhost:9090}
+REQUESTS=${5:-2000}
+BOOKINGS=${6:-50}
+SUFFIX=$(date +%s)
+TICKS=$(getconf CLK_TCK)
+
+id() {
+  sed 's/^{"id":\([0-9]*\).*/\1/'
+}
+
+json() {
+  curl -s -X "$1" "$GATEWAY$2" -H "Content-Type: application/json" -H "X-Sharer-User-Id: $3" -d "$4"
+}
+
+cpu() {
+  awk '{ print $14 + $15 }' "/proc/$1/stat"
+}
+
+OWNER=$(json POST /users 0 "{\"name\":\"owner\",\"email\":\"owner$SUFFIX@bench\"}" | id)
+BOOKER=$(json POST /users 0 "{\"name\":\"booker\",\"email\":\"booker$SUFFIX@bench\"}" | id)
+i=1
+while [ $i -le "$BOOKINGS" ]; do
+  ITEM=$(json POST /items "$OWNER" "{\"name\":\"Вещь $i\",\"description\":\"Описание вещи $i\",\"available\":true}" | id)
+  START=$(date -d "+$i day" +%Y-%m-%dT%H:%M:%S)
+  END=$(date -d "+$((i + 1)) day" +%Y-%m-%dT%H:%M:%S)
+  json POST /bookings "$BOOKER" "{\"itemId\":$ITEM,\"start\":\"$START\",\"end\":\"$END\"}" > /dev/null
+  i=$((i + 1))
+done
+
+per_request() {
+  awk -v before="$1" -v after="$2" -v ticks="$TICKS" -v requests="$REQUESTS" \
+    'BEGIN { printf "%.3f", (after - before) * 1000 / ticks / requests }'
+}
+
+measure() {
+  JSON=$(curl -s -o /dev/null -w '%{size_download}' "$SERVER$1?size=$BOOKINGS" \
+    -H "X-Sharer-User-Id: $2" -H "Accept: application/json")
+  SMILE=$(curl -s -o /dev/null -w '%{size_download}' "$SERVER$1?size=$BOOKINGS" \
+    -H "X-Sharer-User-Id: $2" -H "Accept: application/x-jackson-smile")
+  SERVER_BEFORE=$(cpu "$SERVER_PID")
+  GATEWAY_BEFORE=$(cpu "$GATEWAY_PID")
+  i=0
+  while [ $i -lt "$REQUESTS" ]; do
+    curl -s -o /dev/null "$GATEWAY$1?size=$BOOKINGS" -H "X-Sharer-User-Id: $2"
+    i=$((i + 1))
+  done
+  SERVER_AFTER=$(cpu "$SERVER_PID")
+  GATEWAY_AFTER=$(cpu "$GATEWAY_PID")
+  echo "$1: JSON $JSON байт, Smile $SMILE байт, процессорное время на запрос:" \
+    "сервис $(per_request "$SERVER_BEFORE" "$SERVER_AFTER") мс, шлюз $(per_request "$GATEWAY_BEFORE" "$GATEWAY_AFTER") мс"
+}
+
+measure /bookings "$BOOKER"
+measure /bookings/owner "$OWNER"
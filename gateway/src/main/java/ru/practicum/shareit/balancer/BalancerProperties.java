@@ -0,0 +1,34 @@
+package ru.practicum.shareit.balancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class BalancerProperties {
+    private String healthCheckPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(1);
+    private int unhealthyThreshold = 2;
+    private double slowCallFactor = 3;
+    private Duration slowCallMinLatency = Duration.ofMillis(100);
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+    private int maxEjectedPercent = 50;
+    private boolean userAffinity = true;
+    private double affinityLoadFactor = 1.25;
+    private Hedging hedging = new Hedging();
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private int budgetPercent = 10;
+        private int sampleSize = 1000;
+    }
+}
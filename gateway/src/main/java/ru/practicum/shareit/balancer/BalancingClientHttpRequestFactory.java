@@ -0,0 +1,244 @@
+package ru.practicum.shareit.balancer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BalancingClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ClientHttpRequestFactory delegate;
+    private final ServerBalancer balancer;
+    private final RequestHedger hedger;
+
+    public BalancingClientHttpRequestFactory(ClientHttpRequestFactory delegate, ServerBalancer balancer,
+                                             RequestHedger hedger) {
+        this.delegate = delegate;
+        this.balancer = balancer;
+        this.hedger = hedger;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new BalancedRequest(uri, httpMethod);
+    }
+
+    private class BalancedRequest implements ClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(0);
+
+        BalancedRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            ServerInstance instance = balancer.choose(userId(), System.nanoTime());
+
+            if (method == HttpMethod.GET && hedger.isEnabled()) {
+                hedger.onRequest();
+                if (hedger.getDelayNanos() >= 0) {
+                    return executeHedged(instance);
+                }
+                long start = System.nanoTime();
+                ClientHttpResponse response = executeWithFailover(instance);
+                hedger.recordLatency(System.nanoTime() - start);
+                return response;
+            }
+            return executeWithFailover(instance);
+        }
+
+        private ClientHttpResponse executeHedged(ServerInstance instance) throws IOException {
+            long start = System.nanoTime();
+            CompletableFuture<ClientHttpResponse> primary = hedger.submit(() -> {
+                ClientHttpResponse response = executeWithFailover(instance);
+                hedger.recordLatency(System.nanoTime() - start);
+                return response;
+            });
+            try {
+                return primary.get(hedger.getDelayNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                ServerInstance other = balancer.chooseOther(instance, System.nanoTime());
+
+                if (other == null || !hedger.tryAcquireHedge()) {
+                    return await(primary);
+                }
+                CompletableFuture<ClientHttpResponse> hedge = hedger.submit(() -> executeWithFailover(other));
+                CompletableFuture<ClientHttpResponse> first = new CompletableFuture<>();
+                AtomicInteger failed = new AtomicInteger();
+
+                primary.whenComplete((response, error) -> complete(first, response, error, failed, false));
+                hedge.whenComplete((response, error) -> complete(first, response, error, failed, true));
+                return await(first);
+            } catch (ExecutionException e) {
+                return await(primary);
+            } catch (InterruptedException e) {
+                throw interrupted(primary);
+            }
+        }
+
+        private void complete(CompletableFuture<ClientHttpResponse> first, @Nullable ClientHttpResponse response,
+                              @Nullable Throwable error, AtomicInteger failed, boolean hedge) {
+            if (error != null) {
+                if (failed.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            } else if (!first.complete(response)) {
+                response.close();
+            } else if (hedge) {
+                hedger.onHedgeWin();
+            }
+        }
+
+        private ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                throw interrupted(future);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+        private InterruptedIOException interrupted(CompletableFuture<ClientHttpResponse> future) {
+            Thread.currentThread().interrupt();
+            future.thenAccept(ClientHttpResponse::close);
+            return new InterruptedIOException("Запрос к основному сервису прерван");
+        }
+
+        private ClientHttpResponse executeWithFailover(ServerInstance instance) throws IOException {
+            try {
+                return execute(instance);
+            } catch (ConnectException e) {
+                balancer.onConnectFailed(instance);
+                ServerInstance other = balancer.chooseOther(instance, System.nanoTime());
+
+                if (other == null) {
+                    throw e;
+                }
+                return execute(other);
+            }
+        }
+
+        @Nullable
+        private Long userId() {
+            String userId = headers.getFirst(USER_ID_HEADER);
+
+            if (userId == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(userId);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private ClientHttpResponse execute(ServerInstance instance) throws IOException {
+            ClientHttpRequest request = delegate.createRequest(instance.resolve(uri), method);
+            request.getHeaders().putAll(headers);
+            if (body.size() > 0) {
+                body.writeTo(request.getBody());
+            }
+            long start = System.nanoTime();
+            instance.acquire();
+            try {
+                ClientHttpResponse response = request.execute();
+                instance.recordLatency(System.nanoTime() - start);
+                return new BalancedResponse(response, instance);
+            } catch (IOException | RuntimeException e) {
+                instance.release();
+                throw e;
+            }
+        }
+    }
+
+    private static class BalancedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        @Nullable
+        private ServerInstance instance;
+
+        BalancedResponse(ClientHttpResponse response, ServerInstance instance) {
+            this.response = response;
+            this.instance = instance;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (instance != null) {
+                    instance.release();
+                    instance = null;
+                }
+            }
+        }
+    }
+}
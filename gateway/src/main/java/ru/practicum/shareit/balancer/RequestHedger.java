@@ -0,0 +1,111 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RequestHedger implements MeterBinder, AutoCloseable {
+    private static final int MIN_SAMPLES = 100;
+    private static final int RECALCULATE_EVERY = 100;
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final BalancerProperties.Hedging properties;
+    private final long[] latencies;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong wins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile long delayNanos = -1;
+
+    public RequestHedger(BalancerProperties.Hedging properties) {
+        this.properties = properties;
+        this.latencies = new long[properties.getSampleSize()];
+    }
+
+    boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    void recordLatency(long nanos) {
+        long count = recorded.getAndIncrement() + 1;
+
+        latencies[(int) ((count - 1) % latencies.length)] = nanos;
+        if (count >= MIN_SAMPLES && count % RECALCULATE_EVERY == 0) {
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(count, latencies.length));
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(properties.getPercentile() / 100 * sorted.length) - 1;
+
+            delayNanos = Math.max(properties.getMinDelay().toNanos(), sorted[Math.max(0, index)]);
+        }
+    }
+
+    void onRequest() {
+        budget.getAndUpdate(tokens -> Math.min(MAX_BUDGET, tokens + properties.getBudgetPercent()));
+    }
+
+    boolean tryAcquireHedge() {
+        long tokens = budget.getAndUpdate(current -> current >= HEDGE_COST ? current - HEDGE_COST : current);
+
+        if (tokens < HEDGE_COST) {
+            budgetExhausted.incrementAndGet();
+            return false;
+        }
+        hedges.incrementAndGet();
+        return true;
+    }
+
+    void onHedgeWin() {
+        wins.incrementAndGet();
+    }
+
+    <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            try {
+                future.complete(call.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.hedge.requests", hedges, AtomicLong::get)
+                .description("Число повторных GET-запросов к другому экземпляру основного сервиса")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.hedge.wins", wins, AtomicLong::get)
+                .description("Число повторных GET-запросов, ответ на которые пришёл раньше исходного")
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.hedge.budget.exhausted", budgetExhausted, AtomicLong::get)
+                .description("Число повторных GET-запросов, не отправленных из-за исчерпания бюджета")
+                .register(registry);
+        TimeGauge.builder("shareit.gateway.hedge.delay", this, TimeUnit.NANOSECONDS,
+                        hedger -> Math.max(0, hedger.getDelayNanos()))
+                .description("Задержка перед отправкой повторного GET-запроса")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
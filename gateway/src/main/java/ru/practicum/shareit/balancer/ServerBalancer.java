@@ -0,0 +1,224 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ServerBalancer implements MeterBinder {
+    private final List<ServerInstance> instances;
+    private final BalancerProperties properties;
+    private final RestTemplate healthCheckRest;
+    private final TaskScheduler taskScheduler;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong affinitySpillovers = new AtomicLong();
+
+    public ServerBalancer(List<URI> urls, BalancerProperties properties, RestTemplate healthCheckRest,
+                          TaskScheduler taskScheduler) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Не указан адрес основного сервиса");
+        }
+        this.instances = urls.stream()
+                .map(ServerInstance::new)
+                .toList();
+        this.properties = properties;
+        this.healthCheckRest = healthCheckRest;
+        this.taskScheduler = taskScheduler;
+        log.info("Экземпляры основного сервиса: {}", instances);
+    }
+
+    List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    ServerInstance choose(@Nullable Long userId, long now) {
+        if (userId != null && properties.isUserAffinity()) {
+            ServerInstance chosen = byUser(userId, now);
+
+            if (chosen != null) {
+                return chosen;
+            }
+        }
+        ServerInstance chosen = leastOutstanding(now, true);
+
+        return chosen != null ? chosen : leastOutstanding(now, false);
+    }
+
+    @Nullable
+    ServerInstance chooseOther(ServerInstance failed, long now) {
+        ServerInstance chosen = null;
+
+        for (ServerInstance instance : instances) {
+            if (instance != failed && instance.isAvailable(now)
+                    && (chosen == null || instance.getOutstanding() < chosen.getOutstanding())) {
+                chosen = instance;
+            }
+        }
+        return chosen;
+    }
+
+    void onConnectFailed(ServerInstance instance) {
+        if (instance.isHealthy()) {
+            log.warn("Экземпляр основного сервиса {} недоступен", instance);
+        }
+        instance.markUnhealthy();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskScheduler.scheduleWithFixedDelay(this::checkHealth, properties.getHealthCheckInterval());
+    }
+
+    void checkHealth() {
+        for (ServerInstance instance : instances) {
+            URI uri = instance.getUri().resolve(properties.getHealthCheckPath());
+
+            try {
+                healthCheckRest.getForEntity(uri, Void.class);
+                if (instance.onCheckSucceeded()) {
+                    log.info("Экземпляр основного сервиса {} снова доступен", instance);
+                }
+            } catch (RestClientException e) {
+                if (instance.onCheckFailed(properties.getUnhealthyThreshold())) {
+                    log.warn("Экземпляр основного сервиса {} не прошёл проверку: {}", instance, e.getMessage());
+                }
+            }
+        }
+        ejectSlowInstances(System.nanoTime());
+    }
+
+    void ejectSlowInstances(long now) {
+        int maxEjected = instances.size() * properties.getMaxEjectedPercent() / 100;
+        int ejected = (int) instances.stream()
+                .filter(instance -> instance.isEjected(now))
+                .count();
+
+        for (ServerInstance instance : instances) {
+            if (ejected >= maxEjected) {
+                return;
+            }
+            if (!instance.isAvailable(now) || instance.getLatencyNanos() == 0) {
+                continue;
+            }
+            double[] others = instances.stream()
+                    .filter(other -> other != instance && other.isAvailable(now) && other.getLatencyNanos() > 0)
+                    .mapToDouble(ServerInstance::getLatencyNanos)
+                    .sorted()
+                    .toArray();
+
+            if (others.length == 0) {
+                continue;
+            }
+            double threshold = Math.max(properties.getSlowCallMinLatency().toNanos(),
+                    properties.getSlowCallFactor() * median(others));
+
+            if (instance.getLatencyNanos() > threshold) {
+                log.warn("Экземпляр основного сервиса {} исключён на {}: задержка {} мс, порог {} мс", instance,
+                        properties.getEjectionDuration(), TimeUnit.NANOSECONDS.toMillis((long) instance.getLatencyNanos()),
+                        TimeUnit.NANOSECONDS.toMillis((long) threshold));
+                instance.eject(now + properties.getEjectionDuration().toNanos());
+                ejected++;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.upstream.affinity.spillover", affinitySpillovers, AtomicLong::get)
+                .description("Число запросов пользователя, отправленных не на закреплённый за ним экземпляр из-за нагрузки")
+                .register(registry);
+        for (ServerInstance instance : instances) {
+            String uri = instance.getUri().toString();
+
+            Gauge.builder("shareit.gateway.upstream.outstanding", instance, ServerInstance::getOutstanding)
+                    .description("Число запросов к экземпляру основного сервиса в обработке")
+                    .tag("instance", uri)
+                    .register(registry);
+            Gauge.builder("shareit.gateway.upstream.available", instance,
+                            server -> server.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("Доступность экземпляра основного сервиса: 1 - доступен, 0 - исключён")
+                    .tag("instance", uri)
+                    .register(registry);
+            TimeGauge.builder("shareit.gateway.upstream.latency", instance, TimeUnit.NANOSECONDS,
+                            ServerInstance::getLatencyNanos)
+                    .description("Сглаженная задержка ответа экземпляра основного сервиса")
+                    .tag("instance", uri)
+                    .register(registry);
+        }
+    }
+
+    @Nullable
+    private ServerInstance byUser(long userId, long now) {
+        int available = 0;
+        int outstanding = 1;
+
+        for (ServerInstance instance : instances) {
+            if (instance.isAvailable(now)) {
+                available++;
+                outstanding += instance.getOutstanding();
+            }
+        }
+        if (available == 0) {
+            return null;
+        }
+        double maxOutstanding = Math.ceil(properties.getAffinityLoadFactor() * outstanding / available);
+        ServerInstance preferred = null;
+        ServerInstance chosen = null;
+
+        for (ServerInstance instance : instances) {
+            if (!instance.isAvailable(now)) {
+                continue;
+            }
+            long weight = instance.weight(userId);
+
+            if (preferred == null || weight > preferred.weight(userId)) {
+                preferred = instance;
+            }
+            if (instance.getOutstanding() + 1 <= maxOutstanding
+                    && (chosen == null || weight > chosen.weight(userId))) {
+                chosen = instance;
+            }
+        }
+        if (chosen != preferred) {
+            affinitySpillovers.incrementAndGet();
+        }
+        return chosen;
+    }
+
+    @Nullable
+    private ServerInstance leastOutstanding(long now, boolean availableOnly) {
+        int start = Math.floorMod(next.getAndIncrement(), instances.size());
+        ServerInstance chosen = null;
+
+        for (int i = 0; i < instances.size(); i++) {
+            ServerInstance instance = instances.get((start + i) % instances.size());
+
+            if ((!availableOnly || instance.isAvailable(now))
+                    && (chosen == null || instance.getOutstanding() < chosen.getOutstanding())) {
+                chosen = instance;
+            }
+        }
+        return chosen;
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.balancer;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ServerInstance {
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final URI uri;
+    private final long seed;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger failedChecks = new AtomicInteger();
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0));
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntil;
+    private volatile boolean ejected;
+
+    ServerInstance(URI uri) {
+        this.uri = uri;
+        this.seed = mix(uri.toString().hashCode());
+    }
+
+    long weight(long userId) {
+        return mix(seed ^ userId);
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    URI resolve(URI requestUri) {
+        return UriComponentsBuilder.fromUri(requestUri)
+                .scheme(uri.getScheme())
+                .host(uri.getHost())
+                .port(uri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && !isEjected(now);
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    boolean isEjected(long now) {
+        if (ejected && now - ejectedUntil >= 0) {
+            ejected = false;
+        }
+        return ejected;
+    }
+
+    void eject(long until) {
+        ejectedUntil = until;
+        ejected = true;
+        latencyBits.set(Double.doubleToLongBits(0));
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    double getLatencyNanos() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    void recordLatency(long nanos) {
+        long current;
+        double updated;
+
+        do {
+            current = latencyBits.get();
+            double latency = Double.longBitsToDouble(current);
+            updated = latency == 0 ? nanos : latency + LATENCY_WEIGHT * (nanos - latency);
+        } while (!latencyBits.compareAndSet(current, Double.doubleToLongBits(updated)));
+    }
+
+    boolean onCheckSucceeded() {
+        failedChecks.set(0);
+        boolean recovered = !healthy;
+        healthy = true;
+        return recovered;
+    }
+
+    boolean onCheckFailed(int unhealthyThreshold) {
+        if (failedChecks.incrementAndGet() < unhealthyThreshold || !healthy) {
+            return false;
+        }
+        healthy = false;
+        return true;
+    }
+
+    void markUnhealthy() {
+        healthy = false;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.batch;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Пакетные запросы", description = "Выполнение нескольких запросов за один вызов")
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    @Operation(summary = "Параллельное выполнение пакета запросов",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "ОК",
+                            content = @Content(schema = @Schema(implementation = BatchResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные запроса", content = @Content)
+            })
+    public ResponseEntity<BatchResponseDto> executeBatch(
+            @RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+            @Valid @RequestBody BatchRequestDto batchDto,
+            HttpServletRequest request) {
+        log.info("Выполнить пакет из {} запросов от пользователя с id = {}", batchDto.getRequests().size(), userId);
+        return ResponseEntity.ok(batchService.execute(request, userId, batchDto));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.CompositeFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+class BatchFilters {
+    private static final String DISPATCHER_SERVLET_NAME = "dispatcherServlet";
+
+    private final ListableBeanFactory beanFactory;
+    private volatile Map<DispatcherType, CompositeFilter> filters;
+
+    @Autowired
+    BatchFilters(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        getFilters().get(request.getDispatcherType()).doFilter(request, response, chain);
+    }
+
+    private Map<DispatcherType, CompositeFilter> getFilters() {
+        Map<DispatcherType, CompositeFilter> result = filters;
+
+        if (result == null) {
+            List<AbstractFilterRegistrationBean<?>> registrations = new ServletContextInitializerBeans(beanFactory)
+                    .stream()
+                    .filter(AbstractFilterRegistrationBean.class::isInstance)
+                    .<AbstractFilterRegistrationBean<?>>map(AbstractFilterRegistrationBean.class::cast)
+                    .filter(registration -> registration.isEnabled() && isMappedToDispatcherServlet(registration))
+                    .toList();
+
+            result = new EnumMap<>(DispatcherType.class);
+            for (DispatcherType dispatcherType : DispatcherType.values()) {
+                CompositeFilter compositeFilter = new CompositeFilter();
+
+                compositeFilter.setFilters(registrations.stream()
+                        .filter(registration -> registration.determineDispatcherTypes().contains(dispatcherType))
+                        .<Filter>map(AbstractFilterRegistrationBean::getFilter)
+                        .toList());
+                result.put(dispatcherType, compositeFilter);
+            }
+            log.debug("Фильтры запросов из пакета: {}", registrations);
+            filters = result;
+        }
+        return result;
+    }
+
+    private static boolean isMappedToDispatcherServlet(AbstractFilterRegistrationBean<?> registration) {
+        boolean mappedToAll = registration.getUrlPatterns().isEmpty() && registration.getServletNames().isEmpty()
+                && registration.getServletRegistrationBeans().isEmpty();
+
+        return mappedToAll || registration.getUrlPatterns().contains("/*")
+                || registration.getServletNames().contains(DISPATCHER_SERVLET_NAME);
+    }
+}
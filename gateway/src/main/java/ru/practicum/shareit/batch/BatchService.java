@@ -0,0 +1,214 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class BatchService implements AutoCloseable {
+    static final String SUB_REQUEST_ATTRIBUTE = BatchService.class.getName() + ".SUB_REQUEST";
+    private static final PathPattern BATCH_PATTERN = PathPatternParser.defaultInstance.parse("/batch/**");
+
+    private final DispatcherServlet dispatcherServlet;
+    private final BatchFilters filters;
+    private final ObjectMapper objectMapper;
+    private final String errorPath;
+    private final int maxRequests;
+    private final Duration timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public BatchService(DispatcherServlet dispatcherServlet,
+                        BatchFilters filters,
+                        ObjectMapper objectMapper,
+                        @Value("${server.error.path:${error.path:/error}}") String errorPath,
+                        @Value("${shareit.batch.max-requests:20}") int maxRequests,
+                        @Value("${shareit.batch.timeout:10s}") Duration timeout) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.filters = filters;
+        this.objectMapper = objectMapper;
+        this.errorPath = errorPath;
+        this.maxRequests = maxRequests;
+        this.timeout = timeout;
+    }
+
+    public BatchResponseDto execute(HttpServletRequest request, Long userId, BatchRequestDto batchDto) {
+        List<SubRequestDto> requests = batchDto.getRequests();
+
+        if (request.getAttribute(SUB_REQUEST_ATTRIBUTE) != null) {
+            throw new ValidationException("Вложенные пакеты запросов не поддерживаются");
+        }
+        if (requests.size() > maxRequests) {
+            throw new ValidationException("Пакет содержит больше " + maxRequests + " запросов");
+        }
+        List<BatchSubRequest> subRequests = requests.stream()
+                .map(subRequest -> toSubRequest(request, userId, subRequest))
+                .toList();
+        List<Future<SubResponseDto>> futures = new ArrayList<>(subRequests.size());
+
+        for (BatchSubRequest subRequest : subRequests) {
+            futures.add(executor.submit(() -> dispatch(subRequest, new BatchSubResponse())));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        return new BatchResponseDto(futures.stream()
+                .map(future -> await(future, deadline))
+                .toList());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private BatchSubRequest toSubRequest(HttpServletRequest request, Long userId, SubRequestDto subRequest) {
+        String path = subRequest.getPath();
+        int queryStart = path.indexOf('?');
+        String rawPath = queryStart < 0 ? path : path.substring(0, queryStart);
+        String rawQuery = queryStart < 0 ? null : path.substring(queryStart + 1);
+        HttpHeaders headers = new HttpHeaders();
+        byte[] body = new byte[0];
+
+        try {
+            PathContainer pathWithinApplication = RequestPath.parse(request.getContextPath() + rawPath,
+                    request.getContextPath()).pathWithinApplication();
+
+            if (BATCH_PATTERN.matches(pathWithinApplication)) {
+                throw new ValidationException("Вложенные пакеты запросов не поддерживаются");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Некорректный путь запроса: " + path);
+        }
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (subRequest.getBody() != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            body = toJson(subRequest.getBody());
+        }
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        try {
+            BatchSubRequest batchSubRequest = new BatchSubRequest(request, subRequest.getMethod(), rawPath, rawQuery,
+                    headers, body);
+
+            batchSubRequest.setAttribute(SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+            return batchSubRequest;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Некорректный путь запроса: " + path);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Некорректное тело запроса: " + e.getOriginalMessage());
+        }
+    }
+
+    private SubResponseDto dispatch(BatchSubRequest request, BatchSubResponse response)
+            throws ServletException, IOException {
+        Throwable error = null;
+
+        try {
+            filters.doFilter(request, response, dispatcherServlet::service);
+        } catch (ServletException | IOException | RuntimeException e) {
+            error = e instanceof ServletException servletException && servletException.getRootCause() != null
+                    ? servletException.getRootCause() : e;
+            log.warn("Ошибка выполнения запроса из пакета {}: {}", request.getRequestURI(), error.toString());
+        }
+        if (error != null || response.getErrorStatus() != null) {
+            BatchSubRequest errorRequest = request.forErrorPage(errorPath);
+            int status = error != null ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getErrorStatus();
+
+            errorRequest.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+            errorRequest.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+            if (response.getErrorMessage() != null) {
+                errorRequest.setAttribute(RequestDispatcher.ERROR_MESSAGE, response.getErrorMessage());
+            }
+            if (error != null) {
+                errorRequest.setAttribute(RequestDispatcher.ERROR_EXCEPTION, error);
+                errorRequest.setAttribute(RequestDispatcher.ERROR_EXCEPTION_TYPE, error.getClass());
+            }
+            response.resetForErrorPage(status);
+            filters.doFilter(errorRequest, response, dispatcherServlet::service);
+        }
+        return toSubResponse(request, response);
+    }
+
+    private SubResponseDto await(Future<SubResponseDto> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return toErrorResponse(HttpStatus.GATEWAY_TIMEOUT, e);
+        } catch (ExecutionException e) {
+            return toErrorResponse(HttpStatus.BAD_GATEWAY, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return toErrorResponse(HttpStatus.BAD_GATEWAY, e);
+        }
+    }
+
+    private SubResponseDto toSubResponse(HttpServletRequest request, BatchSubResponse response) {
+        byte[] body = response.getBody();
+        Map<String, List<String>> headers = new LinkedHashMap<>(response.getHttpHeaders());
+
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        if (body.length == 0) {
+            return new SubResponseDto(response.getStatus(), headers, null);
+        }
+        String contentType = response.getContentType();
+        boolean json = contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(
+                MediaType.parseMediaType(contentType));
+
+        if (json) {
+            try {
+                return new SubResponseDto(response.getStatus(), headers, objectMapper.readTree(body));
+            } catch (IOException e) {
+                log.warn("Некорректный JSON в ответе на запрос {}: {}", request.getRequestURI(), e.getMessage());
+            }
+        }
+        return new SubResponseDto(response.getStatus(), headers, new String(body, StandardCharsets.UTF_8));
+    }
+
+    private SubResponseDto toErrorResponse(HttpStatus status, Throwable error) {
+        log.warn("Ошибка выполнения запроса из пакета: {}", error.toString());
+        return new SubResponseDto(status.value(), Map.of(), objectMapper.createObjectNode()
+                .put("error", status == HttpStatus.GATEWAY_TIMEOUT
+                        ? "Превышено время ожидания ответа" : "Ошибка выполнения запроса"));
+    }
+}
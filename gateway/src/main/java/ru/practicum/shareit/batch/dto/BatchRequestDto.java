@@ -0,0 +1,20 @@
+package ru.practicum.shareit.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Пакет запросов")
+public class BatchRequestDto {
+    @NotEmpty
+    @Schema(description = "Запросы, выполняемые параллельно")
+    private List<@Valid SubRequestDto> requests;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ответы на пакет запросов")
+public class BatchResponseDto {
+    @Schema(description = "Ответы в порядке запросов")
+    private List<SubResponseDto> responses;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Запрос в составе пакета")
+public class SubRequestDto {
+    @NotNull
+    @Pattern(regexp = "GET|POST|PATCH|DELETE")
+    @Schema(description = "HTTP-метод", example = "GET")
+    private String method;
+    @NotNull
+    @Pattern(regexp = "/[^#\\s]*")
+    @Schema(description = "Путь запроса с параметрами", example = "/bookings/owner?state=all&size=10")
+    private String path;
+    @Schema(description = "Тело запроса")
+    private Object body;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.batch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ответ на запрос в составе пакета")
+public class SubResponseDto {
+    @Schema(description = "HTTP-статус ответа", example = "200")
+    private int status;
+    @Schema(description = "Заголовки ответа, кроме Content-Type и Content-Length")
+    private Map<String, List<String>> headers;
+    @Schema(description = "Тело ответа")
+    private Object body;
+}
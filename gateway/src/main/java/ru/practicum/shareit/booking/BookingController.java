@@ -7,11 +7,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -20,6 +23,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -86,12 +90,15 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") @Parameter(description = "Статус бронирования") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false)
+            @Parameter(description = "Курсор следующей страницы из заголовка X-Next-Cursor") String cursor
     ) {
         BookingState state = BookingState.validateState(stateParam);
 
-        log.info("Получить бронирования от пользователя {}, state={}, from={}, size={}", userId, stateParam, from, size);
-        return bookingClient.getUserBookings(userId, state, from, size);
+        log.info("Получить бронирования от пользователя {}, state={}, from={}, size={}, cursor={}",
+                userId, stateParam, from, size, cursor);
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -104,11 +111,36 @@ public class BookingController {
             })
     public ResponseEntity<Object> getBookingsForItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
-            @RequestParam(name = "state", defaultValue = "all") @Parameter(description = "Статус бронирования") String stateParam
+            @RequestParam(name = "state", defaultValue = "all") @Parameter(description = "Статус бронирования") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false)
+            @Parameter(description = "Курсор следующей страницы из заголовка X-Next-Cursor") String cursor
+    ) {
+        BookingState state = BookingState.validateState(stateParam);
+
+        log.info("Получить бронирования для вещей пользователя {}, state={}, from={}, size={}, cursor={}",
+                userId, stateParam, from, size, cursor);
+        return bookingClient.getBookingsForItems(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    @Operation(summary = "Выгрузка всех бронирований для вещей пользователя в формате NDJSON",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "ОК",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = BookingDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные запроса", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Нет пользователя с данным id", content = @Content)
+            })
+    public void exportBookingsForItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") @Parameter(description = "Статус бронирования") String stateParam,
+            HttpServletResponse response
     ) {
         BookingState state = BookingState.validateState(stateParam);
 
-        log.info("Получить бронирования для вещей пользователя {}, state={}", userId, stateParam);
-        return bookingClient.getBookingsForItems(userId, state);
+        log.info("Выгрузить бронирования для вещей пользователя {}, state={}", userId, stateParam);
+        bookingClient.exportBookingsForItems(userId, state, response);
     }
-}
\ No newline at end of file
+}
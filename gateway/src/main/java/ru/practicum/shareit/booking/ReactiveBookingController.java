@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable Long bookingId) {
+        log.info("Получить бронирование {}", bookingId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestBody @Valid BookingDto bookingDto) {
+        bookingDto.validateTimeFrame();
+        log.info("Создать бронирование {}", bookingDto);
+        return bookingClient.addBooking(userId, bookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @PathVariable long bookingId,
+                                                      @RequestParam boolean approved) {
+        log.info("Обновить бронирование {}: {}", bookingId, approved);
+        return bookingClient.updateBooking(userId, bookingId, approved);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        BookingState state = BookingState.validateState(stateParam);
+
+        log.info("Получить бронирования от пользователя {}, state={}, from={}, size={}, cursor={}",
+                userId, stateParam, from, size, cursor);
+        return bookingClient.getUserBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getBookingsForItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
+    ) {
+        BookingState state = BookingState.validateState(stateParam);
+
+        log.info("Получить бронирования для вещей пользователя {}, state={}, from={}, size={}, cursor={}",
+                userId, stateParam, from, size, cursor);
+        return bookingClient.getBookingsForItems(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportBookingsForItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam
+    ) {
+        BookingState state = BookingState.validateState(stateParam);
+
+        log.info("Выгрузить бронирования для вещей пользователя {}, state={}", userId, stateParam);
+        return bookingClient.exportBookingsForItems(userId, state);
+    }
+}
@@ -1,18 +1,76 @@
 package ru.practicum.shareit.client;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BaseClient implements MeterBinder {
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    private static final MediaType APPLICATION_JSON_FALLBACK =
+            new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9"));
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Set<String> SERVER_ONLY_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        SERVER_ONLY_HEADERS.addAll(List.of(
+                HttpHeaders.CONNECTION,
+                "Keep-Alive",
+                HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION,
+                "TE",
+                "Trailer",
+                HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE,
+                HttpHeaders.CONTENT_LENGTH,
+                HttpHeaders.DATE
+        ));
+    }
 
-public class BaseClient {
     protected final RestTemplate rest;
+    private final Class<?> responseType;
+    private final ResilienceProperties.Settings resilience;
+    private final CallGuard guard;
+    private final ConcurrentMap<RequestKey, CompletableFuture<ResponseEntity<Object>>> inFlightGets =
+            new ConcurrentHashMap<>();
+    private final AtomicLong collapsedGets = new AtomicLong();
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough) {
+        this(rest, passthrough, new ResilienceProperties.Settings());
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough, ResilienceProperties.Settings resilience) {
         this.rest = rest;
+        this.responseType = passthrough ? byte[].class : Object.class;
+        this.resilience = resilience;
+        this.guard = new CallGuard(getClass().getSimpleName(), resilience);
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -25,7 +83,24 @@ public class BaseClient {
 
     protected ResponseEntity<Object> get(String path, Long userId,
                                          @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        RequestKey key = new RequestKey(path, userId, parameters);
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlightCall = inFlightGets.putIfAbsent(key, call);
+
+        if (inFlightCall != null) {
+            collapsedGets.incrementAndGet();
+            return join(inFlightCall);
+        }
+        try {
+            ResponseEntity<Object> response = makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGets.remove(key, call);
+        }
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -84,44 +159,167 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.requests.collapsed", collapsedGets, AtomicLong::get)
+                .description("Число GET-запросов, объединённых с таким же запросом в обработке")
+                .tag("client", getClass().getSimpleName())
+                .register(registry);
+        guard.bindTo(registry);
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
+        CallGuard.GuardedCall call = guard.acquire(resilience.getMaxWait().toNanos());
+
+        if (call.getRejection() != null) {
+            return call.getRejection();
+        }
+        try {
+            ResponseEntity<Object> response = sendRequest(method, path, userId, parameters, body);
+            call.complete(response.getStatusCode());
+            return response;
+        } finally {
+            call.release();
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId,
+                                                   @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<?> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(gatewayHeaders(e.getResponseHeaders()))
+                    .body(gatewayBody(e.getResponseHeaders(), e.getResponseBodyAsByteArray()));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    protected void stream(String path, Long userId, Map<String, Object> parameters, MediaType mediaType,
+                          HttpServletResponse response) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(mediaType, MediaType.APPLICATION_JSON));
+        CallGuard.GuardedCall call = guard.acquire(resilience.getMaxWait().toNanos());
+
+        try {
+            if (call.getRejection() != null) {
+                copyResponse(call.getRejection().getStatusCode(), call.getRejection().getHeaders(), response);
+                StreamUtils.copy((byte[]) call.getRejection().getBody(), response.getOutputStream());
+                return;
+            }
+            rest.execute(path, HttpMethod.GET, request -> request.getHeaders().putAll(headers), upstream -> {
+                call.complete(upstream.getStatusCode());
+                copyResponse(upstream.getStatusCode(), upstream.getHeaders(), response);
+                StreamUtils.copy(upstream.getBody(), response.getOutputStream());
+                return null;
+            }, parameters);
+        } catch (HttpStatusCodeException e) {
+            call.complete(e.getStatusCode());
+            try {
+                copyResponse(e.getStatusCode(), e.getResponseHeaders(), response);
+                StreamUtils.copy(e.getResponseBodyAsByteArray(), response.getOutputStream());
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            call.release();
+        }
+    }
+
+    private static void copyResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                     HttpServletResponse response) {
+        response.setStatus(status.value());
+        if (headers != null && headers.getContentType() != null) {
+            response.setContentType(headers.getContentType().toString());
+        }
+        if (headers != null && headers.getFirst(HttpHeaders.RETRY_AFTER) != null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, headers.getFirst(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    static HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setAccept(List.of(APPLICATION_SMILE, APPLICATION_JSON_FALLBACK));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    static HttpHeaders gatewayHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (!SERVER_ONLY_HEADERS.contains(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+            if (isSmile(serverHeaders)) {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
         }
+        return headers;
+    }
+
+    static Object gatewayBody(@Nullable HttpHeaders serverHeaders, Object body) {
+        if (body instanceof byte[] bytes && bytes.length > 0 && serverHeaders != null && isSmile(serverHeaders)) {
+            return smileToJson(bytes);
+        }
+        return body;
+    }
+
+    private static boolean isSmile(HttpHeaders headers) {
+        return headers.getContentType() != null && APPLICATION_SMILE.isCompatibleWith(headers.getContentType());
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static byte[] smileToJson(byte[] smile) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+
+        try (JsonParser parser = SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+
+    static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(gatewayHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+            return responseBuilder.body(gatewayBody(response.getHeaders(), response.getBody()));
         }
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    record RequestKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    }
+}
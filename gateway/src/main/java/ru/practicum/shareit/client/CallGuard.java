@@ -0,0 +1,140 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CallGuard {
+    private final String client;
+    private final ResilienceProperties.Settings resilience;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final AtomicLong bulkheadRejected = new AtomicLong();
+    private final AtomicLong circuitRejected = new AtomicLong();
+
+    CallGuard(String client, ResilienceProperties.Settings resilience) {
+        this.client = client;
+        this.resilience = resilience;
+        this.bulkhead = new Semaphore(resilience.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(client, resilience);
+    }
+
+    GuardedCall acquire(long maxWaitNanos) {
+        if (!acquireBulkhead(maxWaitNanos)) {
+            bulkheadRejected.incrementAndGet();
+            return new GuardedCall(unavailable("Превышено число одновременных запросов",
+                    TimeUnit.SECONDS.toNanos(1)));
+        }
+        long start = System.nanoTime();
+        long permit = circuitBreaker.tryAcquirePermission(start);
+
+        if (permit == CircuitBreaker.REJECTED) {
+            bulkhead.release();
+            circuitRejected.incrementAndGet();
+            return new GuardedCall(unavailable("Сервис временно недоступен", circuitBreaker.retryAfterNanos(start)));
+        }
+        return new GuardedCall(start, permit);
+    }
+
+    void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.bulkhead.rejected", bulkheadRejected, AtomicLong::get)
+                .description("Число запросов, отклонённых из-за превышения числа одновременных запросов")
+                .tag("client", client)
+                .register(registry);
+        Gauge.builder("shareit.gateway.bulkhead.active", bulkhead,
+                        semaphore -> resilience.getMaxConcurrentCalls() - semaphore.availablePermits())
+                .description("Число одновременных запросов к основному сервису")
+                .tag("client", client)
+                .register(registry);
+        FunctionCounter.builder("shareit.gateway.circuit.rejected", circuitRejected, AtomicLong::get)
+                .description("Число запросов, отклонённых при разомкнутой цепи")
+                .tag("client", client)
+                .register(registry);
+        Gauge.builder("shareit.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние цепи: 0 - замкнута, 1 - разомкнута, 2 - пробные запросы")
+                .tag("client", client)
+                .register(registry);
+    }
+
+    private boolean acquireBulkhead(long maxWaitNanos) {
+        if (maxWaitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ResponseEntity<Object> unavailable(String message, long retryAfterNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    final class GuardedCall {
+        @Nullable
+        private final ResponseEntity<Object> rejection;
+        private final long start;
+        private final long permit;
+        private volatile boolean failure = true;
+        private volatile boolean completed;
+        private volatile long end;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        GuardedCall(ResponseEntity<Object> rejection) {
+            this.rejection = rejection;
+            this.start = 0;
+            this.permit = CircuitBreaker.REJECTED;
+        }
+
+        GuardedCall(long start, long permit) {
+            this.rejection = null;
+            this.start = start;
+            this.permit = permit;
+        }
+
+        @Nullable
+        ResponseEntity<Object> getRejection() {
+            return rejection;
+        }
+
+        void complete(HttpStatusCode status) {
+            failure = status.is5xxServerError();
+            end = System.nanoTime();
+            completed = true;
+        }
+
+        void cancel() {
+            failure = false;
+        }
+
+        void release() {
+            if (rejection != null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            long finish = completed ? end : System.nanoTime();
+
+            circuitBreaker.onResult(permit, failure || finish - start > resilience.getSlowCallDuration().toNanos(),
+                    finish);
+            bulkhead.release();
+        }
+    }
+}
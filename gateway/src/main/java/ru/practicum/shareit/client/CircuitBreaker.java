@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+class CircuitBreaker {
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static final long REJECTED = -1;
+
+    private final String name;
+    private final ResilienceProperties.Settings settings;
+    private final long openDurationNanos;
+    private final Lock lock = new ReentrantLock();
+    private final boolean[] failures;
+    private int position;
+    private int recordedCalls;
+    private int failedCalls;
+    private int halfOpenCalls;
+    private int halfOpenSuccesses;
+    private long openUntil;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile State state = State.CLOSED;
+
+    CircuitBreaker(String name, ResilienceProperties.Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.openDurationNanos = settings.getOpenDuration().toNanos();
+        this.failures = new boolean[settings.getWindowSize()];
+    }
+
+    State getState() {
+        return state;
+    }
+
+    long tryAcquirePermission(long now) {
+        long permit = generation.get();
+
+        if (state == State.CLOSED && permit == generation.get()) {
+            return permit;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (now - openUntil < 0) {
+                    return REJECTED;
+                }
+                generation.incrementAndGet();
+                state = State.HALF_OPEN;
+                halfOpenCalls = 0;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenCalls >= settings.getHalfOpenCalls()) {
+                    return REJECTED;
+                }
+                halfOpenCalls++;
+            }
+            return generation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onResult(long permit, boolean failure, long now) {
+        lock.lock();
+        try {
+            if (permit != generation.get()) {
+                return;
+            }
+            switch (state) {
+                case CLOSED -> {
+                    record(failure);
+                    if (recordedCalls >= settings.getMinimumCalls()
+                            && failedCalls * 100 >= settings.getFailureRateThreshold() * recordedCalls) {
+                        open(now);
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (failure) {
+                        open(now);
+                    } else if (++halfOpenSuccesses >= settings.getHalfOpenCalls()) {
+                        close();
+                    }
+                }
+                case OPEN -> {
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long retryAfterNanos(long now) {
+        return Math.max(0, openUntil - now);
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == failures.length) {
+            if (failures[position]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        failures[position] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        position = (position + 1) % failures.length;
+    }
+
+    private void open(long now) {
+        log.warn("Запросы {} к основному сервису приостановлены на {}", name, settings.getOpenDuration());
+        generation.incrementAndGet();
+        state = State.OPEN;
+        openUntil = now + openDurationNanos;
+    }
+
+    private void close() {
+        log.info("Запросы {} к основному сервису возобновлены", name);
+        generation.incrementAndGet();
+        state = State.CLOSED;
+        position = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReactiveBaseClient implements MeterBinder {
+    protected final WebClient webClient;
+    private final Class<?> responseType;
+    private final CallGuard guard;
+    private final ConcurrentMap<BaseClient.RequestKey, Mono<ResponseEntity<Object>>> inFlightGets =
+            new ConcurrentHashMap<>();
+    private final AtomicLong collapsedGets = new AtomicLong();
+
+    public ReactiveBaseClient(WebClient webClient, boolean passthrough, ResilienceProperties.Settings resilience) {
+        this.webClient = webClient;
+        this.responseType = passthrough ? byte[].class : Object.class;
+        this.guard = new CallGuard(getClass().getSimpleName(), resilience);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId,
+                                               @Nullable Map<String, Object> parameters) {
+        BaseClient.RequestKey key = new BaseClient.RequestKey(path, userId, parameters);
+
+        return Mono.defer(() -> inFlightGets.compute(key, (requestKey, inFlightCall) -> {
+            if (inFlightCall != null) {
+                collapsedGets.incrementAndGet();
+                return inFlightCall;
+            }
+            return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null)
+                    .doFinally(signal -> inFlightGets.remove(requestKey))
+                    .share();
+        }));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return patch(path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return Mono.defer(() -> {
+            CallGuard.GuardedCall call = guard.acquire(0);
+
+            if (call.getRejection() != null) {
+                return Mono.just(call.getRejection());
+            }
+            return requestWithBody.exchangeToMono(response -> response.toEntity(responseType))
+                    .doOnNext(response -> call.complete(response.getStatusCode()))
+                    .doOnCancel(call::cancel)
+                    .doFinally(signal -> call.release())
+                    .map(BaseClient::prepareGatewayResponse);
+        });
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, Long userId, Map<String, Object> parameters,
+                                                            MediaType mediaType) {
+        return Mono.defer(() -> {
+            CallGuard.GuardedCall call = guard.acquire(0);
+            ResponseEntity<Object> rejection = call.getRejection();
+
+            if (rejection != null) {
+                return Mono.just(ResponseEntity.status(rejection.getStatusCode())
+                        .headers(rejection.getHeaders())
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap((byte[]) rejection.getBody()))));
+            }
+            return webClient.get()
+                    .uri(path, parameters)
+                    .headers(headers -> {
+                        headers.addAll(BaseClient.defaultHeaders(userId));
+                        headers.setAccept(List.of(mediaType, MediaType.APPLICATION_JSON));
+                    })
+                    .retrieve()
+                    .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .doOnCancel(call::cancel)
+                    .doFinally(signal -> {
+                        if (signal != SignalType.ON_COMPLETE) {
+                            call.release();
+                        }
+                    })
+                    .map(upstream -> {
+                        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(upstream.getStatusCode());
+
+                        call.complete(upstream.getStatusCode());
+                        if (upstream.getHeaders().getContentType() != null) {
+                            responseBuilder.contentType(upstream.getHeaders().getContentType());
+                        }
+                        if (upstream.getHeaders().getFirst(HttpHeaders.RETRY_AFTER) != null) {
+                            responseBuilder.header(HttpHeaders.RETRY_AFTER,
+                                    upstream.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                        }
+                        Flux<DataBuffer> body = upstream.getBody() != null ? upstream.getBody() : Flux.empty();
+
+                        return responseBuilder.body(body.doFinally(signal -> call.release()));
+                    });
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.requests.collapsed", collapsedGets, AtomicLong::get)
+                .description("Число GET-запросов, объединённых с таким же запросом в обработке")
+                .tag("client", getClass().getSimpleName())
+                .register(registry);
+        guard.bindTo(registry);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private Map<String, Settings> clients = new HashMap<>();
+
+    public Settings forClient(String name) {
+        return clients.getOrDefault(name, new Settings());
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ZERO;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(3);
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.ratelimit.RateLimitInterceptor;
+import ru.practicum.shareit.ratelimit.RateLimitOffenders;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.RateLimitWebFilter;
+import ru.practicum.shareit.ratelimit.RateLimiter;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitOffenders rateLimitOffenders(RateLimitProperties properties) {
+        return new RateLimitOffenders(properties);
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, RateLimitOffenders offenders,
+                                   MeterRegistry meterRegistry) {
+        return new RateLimiter(properties, offenders, meterRegistry);
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @RequiredArgsConstructor
+    static class ServletRateLimitConfig implements WebMvcConfigurer {
+        private final RateLimiter rateLimiter;
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter));
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveRateLimitConfig {
+
+        @Bean
+        public RateLimitWebFilter rateLimitWebFilter(RateLimiter rateLimiter) {
+            return new RateLimitWebFilter(rateLimiter);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.ResilienceProperties;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class WebClientConfig {
+
+    public WebClientConfig(Environment environment, ResilienceProperties resilience) {
+        if (environment.containsProperty("shareit-server.urls")) {
+            throw new IllegalStateException("Реактивный шлюз не поддерживает несколько экземпляров основного сервиса "
+                    + "(shareit-server.urls), используйте shareit-server.url");
+        }
+        if (environment.getProperty("shareit-server.balancer.hedging.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("Реактивный шлюз не поддерживает повтор запросов "
+                    + "(shareit-server.balancer.hedging.enabled)");
+        }
+        resilience.getClients().forEach((client, settings) -> {
+            if (!settings.getMaxWait().isZero()) {
+                throw new IllegalStateException("Реактивный шлюз не ожидает свободного места в очереди запросов: "
+                        + "shareit-server.resilience.clients." + client + ".max-wait должен быть 0");
+            }
+        });
+    }
+
+    @Bean
+    public ConnectionProvider shareItServerConnectionProvider(
+            @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.pool.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.pool.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.pool.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(keepAlive)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-server.pool.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.pool.read-timeout:10s}") Duration readTimeout) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout));
+    }
+}
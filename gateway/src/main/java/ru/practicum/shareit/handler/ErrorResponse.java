@@ -0,0 +1,10 @@
+package ru.practicum.shareit.handler;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class ErrorResponse {
+    private final String error;
+}
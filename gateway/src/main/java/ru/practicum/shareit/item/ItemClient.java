@@ -2,12 +2,18 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -15,16 +21,23 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough:true}") boolean passthrough,
+                      ClientHttpRequestFactory requestFactory,
+                      ResilienceProperties resilience,
+                      RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                resilience.forClient("items")
         );
     }
 
@@ -32,23 +45,45 @@ public class ItemClient extends BaseClient {
         return get("", userId);
     }
 
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "{#itemId, #userId}",
+            unless = "!#result.statusCode.is2xxSuccessful()")
     public ResponseEntity<Object> getItem(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.REQUESTS, key = "#itemDto.requestId",
+            condition = "#itemDto.requestId != null")
     public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.REQUESTS, allEntries = true)
+    })
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemUpdateDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> searchItems(long userId, String text, Boolean fuzzy, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "fuzzy", fuzzy,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggestItemNames(long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
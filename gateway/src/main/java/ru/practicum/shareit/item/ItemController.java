@@ -1,17 +1,22 @@
 package ru.practicum.shareit.item;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -20,9 +25,11 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import java.util.List;
 
 @Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 @Tag(name = "Предметы", description = "Управление предметами")
 public class ItemController {
     private final ItemClient itemClient;
@@ -91,13 +98,38 @@ public class ItemController {
                     @ApiResponse(responseCode = "400", description = "Некорректные данные запроса", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Нет предмета с данным id", content = @Content)
             })
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @RequestParam(name = "text") String searchQuery) {
-        log.info("Поиск вещей по запросу {}", searchQuery);
+    public ResponseEntity<Object> searchItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "text") String searchQuery,
+            @RequestParam(name = "fuzzy", defaultValue = "false")
+            @Parameter(description = "Нечёткий поиск с учётом опечаток") Boolean fuzzy,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Поиск вещей по запросу {}, fuzzy={}, from={}, size={}", searchQuery, fuzzy, from, size);
         if (searchQuery == null || searchQuery.isBlank()) {
             return ResponseEntity.status(HttpStatus.OK).body(List.of());
         }
-        return itemClient.searchItems(userId, searchQuery);
+        return itemClient.searchItems(userId, searchQuery, fuzzy, from, size);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Подсказки названий доступных предметов по префиксу",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "ОК",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class)))),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные запроса", content = @Content)
+            })
+    public ResponseEntity<Object> suggestItemNames(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "prefix") String prefix,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Подсказки названий вещей по префиксу {}, size={}", prefix, size);
+        if (prefix.isBlank()) {
+            return ResponseEntity.status(HttpStatus.OK).body(List.of());
+        }
+        return itemClient.suggestItemNames(userId, prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
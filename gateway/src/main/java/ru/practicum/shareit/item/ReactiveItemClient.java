@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl,
+                              @Value("${shareit-server.passthrough:true}") boolean passthrough,
+                              ClientHttpConnector connector,
+                              ResilienceProperties resilience,
+                              WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough,
+                resilience.forClient("items")
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUserItems(long userId) {
+        return get("", userId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "{#itemId, #userId}",
+            unless = "!#result.statusCode.is2xxSuccessful()")
+    public Mono<ResponseEntity<Object>> getItem(long userId, long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.REQUESTS, key = "#itemDto.requestId",
+            condition = "#itemDto.requestId != null")
+    public Mono<ResponseEntity<Object>> addItem(long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.REQUESTS, allEntries = true)
+    })
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemUpdateDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(long userId, String text, Boolean fuzzy, Integer from,
+                                                    Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "fuzzy", fuzzy,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&fuzzy={fuzzy}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> suggestItemNames(long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "prefix", prefix,
+                "size", size
+        );
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
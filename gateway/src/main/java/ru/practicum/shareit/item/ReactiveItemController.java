@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.util.List;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUserItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получить вещи пользователя с id = {}", userId);
+        return itemClient.getUserItems(userId);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @PathVariable long itemId) {
+        log.info("Получить вещь с id = {}", itemId);
+        return itemClient.getItem(userId, itemId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Valid @RequestBody ItemDto itemDto) {
+        log.info("Создать вещь с id = {}", itemDto);
+        return itemClient.addItem(userId, itemDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long itemId,
+                                                   @Valid @RequestBody ItemUpdateDto itemDto) {
+        log.info("Обновить вещь с id = {}: {}", itemId, itemDto);
+        return itemClient.updateItem(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "text") String searchQuery,
+            @RequestParam(name = "fuzzy", defaultValue = "false") Boolean fuzzy,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Поиск вещей по запросу {}, fuzzy={}, from={}, size={}", searchQuery, fuzzy, from, size);
+        if (searchQuery == null || searchQuery.isBlank()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).body(List.of()));
+        }
+        return itemClient.searchItems(userId, searchQuery, fuzzy, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggestItemNames(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "prefix") String prefix,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+    ) {
+        log.info("Подсказки названий вещей по префиксу {}, size={}", prefix, size);
+        if (prefix.isBlank()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).body(List.of()));
+        }
+        return itemClient.suggestItemNames(userId, prefix, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long itemId,
+                                                   @Valid @RequestBody CommentDto commentDto) {
+        log.info("Добавить комментарий {}", commentDto);
+        return itemClient.addComment(userId, itemId, commentDto);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String userHeader = request.getHeader(RateLimiter.USER_HEADER);
+
+        if (userHeader == null) {
+            return true;
+        }
+        RateLimiter.LimitedRoute route = rateLimiter.findRoute(
+                ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication());
+
+        if (route == null) {
+            return true;
+        }
+        long userId;
+
+        try {
+            userId = Long.parseLong(userHeader.trim());
+        } catch (NumberFormatException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Некорректный заголовок " + RateLimiter.USER_HEADER);
+            return false;
+        }
+        long waitNanos = rateLimiter.tryConsume(userId, route);
+
+        if (waitNanos == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(RateLimiter.ERROR_BODY);
+        return false;
+    }
+}
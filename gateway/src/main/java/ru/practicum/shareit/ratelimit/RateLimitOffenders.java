@@ -0,0 +1,54 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Endpoint(id = "ratelimit")
+public class RateLimitOffenders implements MeterBinder {
+    private final Cache<Long, LongAdder> rejections;
+    private final int topOffenders;
+
+    public RateLimitOffenders(RateLimitProperties properties) {
+        this.rejections = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxOffenders())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.topOffenders = properties.getTopOffenders();
+    }
+
+    public void onRejected(long userId) {
+        rejections.get(userId, key -> new LongAdder()).increment();
+    }
+
+    @ReadOperation
+    public List<Offender> offenders() {
+        return rejections.asMap().entrySet().stream()
+                .map(entry -> new Offender(entry.getKey(), entry.getValue().sum()))
+                .sorted(Comparator.comparingLong(Offender::rejected).reversed().thenComparingLong(Offender::userId))
+                .limit(topOffenders)
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.gateway.rate-limit.offenders", rejections, Cache::estimatedSize)
+                .description("Число пользователей с отклонёнными запросами за время idle-timeout")
+                .register(registry);
+        Gauge.builder("shareit.gateway.rate-limit.top-offender.rejected", rejections,
+                        cache -> cache.asMap().values().stream().mapToLong(LongAdder::sum).max().orElse(0))
+                .description("Число отклонённых запросов самого активного нарушителя")
+                .register(registry);
+    }
+
+    public record Offender(long userId, long rejected) {
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    private long maxOffenders = 1_000;
+    @Positive
+    private int topOffenders = 20;
+    private List<@Valid Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        @NotBlank
+        private String pattern;
+        @Positive
+        private int capacity;
+        @Positive
+        private double refillPerSecond;
+    }
+}
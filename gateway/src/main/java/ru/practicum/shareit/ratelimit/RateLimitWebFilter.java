@@ -0,0 +1,52 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitWebFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String userHeader = exchange.getRequest().getHeaders().getFirst(RateLimiter.USER_HEADER);
+
+        if (userHeader == null) {
+            return chain.filter(exchange);
+        }
+        RateLimiter.LimitedRoute route = rateLimiter.findRoute(exchange.getRequest().getPath().pathWithinApplication());
+
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        long userId;
+
+        try {
+            userId = Long.parseLong(userHeader.trim());
+        } catch (NumberFormatException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Некорректный заголовок " + RateLimiter.USER_HEADER));
+        }
+        long waitNanos = rateLimiter.tryConsume(userId, route);
+
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimiter.retryAfterSeconds(waitNanos)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(RateLimiter.ERROR_BODY)));
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class RateLimiter {
+    public static final String USER_HEADER = "X-Sharer-User-Id";
+    public static final byte[] ERROR_BODY = "{\"error\":\"Превышен лимит запросов\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<LimitedRoute> routes;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final RateLimitOffenders offenders;
+
+    public RateLimiter(RateLimitProperties properties, RateLimitOffenders offenders, MeterRegistry meterRegistry) {
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new LimitedRoute(PathPatternParser.defaultInstance.parse(route.getPattern()), route,
+                        Counter.builder("shareit.gateway.rate-limit.rejected")
+                                .description("Число запросов, отклонённых ограничением частоты")
+                                .tag("route", route.getPattern())
+                                .register(meterRegistry)))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.offenders = offenders;
+    }
+
+    @Nullable
+    public LimitedRoute findRoute(PathContainer path) {
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public long tryConsume(long userId, LimitedRoute route) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new BucketKey(userId, route.pattern().getPatternString()),
+                key -> new TokenBucket(route.settings().getCapacity(), route.settings().getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+
+        if (waitNanos != 0) {
+            route.rejected().increment();
+            offenders.onRejected(userId);
+            log.debug("Превышен лимит запросов пользователя {} к {}", userId, route.pattern().getPatternString());
+        }
+        return waitNanos;
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+    }
+
+    public record LimitedRoute(PathPattern pattern, RateLimitProperties.Route settings, Counter rejected) {
+    }
+
+    private record BucketKey(long userId, String route) {
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong emptyAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000 / refillPerSecond));
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.emptyAt = new AtomicLong(nowNanos);
+    }
+
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = emptyAt.get();
+            long base = Math.max(current, nowNanos);
+            long next = base + refillIntervalNanos;
+            long waitNanos = next - nowNanos - burstNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                                 @Value("${shareit-server.passthrough:true}") boolean passthrough,
+                                 ClientHttpConnector connector,
+                                 ResilienceProperties resilience,
+                                 WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough,
+                resilience.forClient("requests")
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUserRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequests(long userId) {
+        return get("/all", userId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.REQUESTS, key = "#requestId",
+            unless = "!#result.statusCode.is2xxSuccessful()")
+    public Mono<ResponseEntity<Object>> getRequest(long userId, long requestId) {
+        return get("/" + requestId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> addRequest(long userId, ItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+}
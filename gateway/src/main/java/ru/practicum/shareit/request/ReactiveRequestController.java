@@ -0,0 +1,46 @@
+package ru.practicum.shareit.request;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveRequestController {
+    private final ReactiveRequestClient requestClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получить список запросов пользователя с id = {}", userId);
+        return requestClient.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получить список всех запросов");
+        return requestClient.getAllRequests(userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @PathVariable long requestId) {
+        log.info("Получить запрос с id = {}", requestId);
+        return requestClient.getRequest(userId, requestId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Valid @RequestBody ItemRequestDto requestDto) {
+        log.info("Создать запрос {}", requestDto);
+        return requestClient.addRequest(userId, requestDto);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl,
+                              @Value("${shareit-server.passthrough:true}") boolean passthrough,
+                              ClientHttpConnector connector,
+                              ResilienceProperties resilience,
+                              WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build(),
+                passthrough,
+                resilience.forClient("users")
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> addUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserUpdateDto userDto) {
+        return patch("/" + userId, userDto);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.REQUESTS, allEntries = true)
+    })
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete("/" + userId);
+    }
+}
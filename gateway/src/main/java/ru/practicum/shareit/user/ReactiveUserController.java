@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+@Controller
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable long id) {
+        log.info("Получить пользователя с id = {}", id);
+        return userClient.getUser(id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addUser(@Valid @RequestBody UserDto userDto) {
+        log.info("Создать пользователя {}", userDto);
+        return userClient.addUser(userDto);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable long id,
+                                                   @Valid @RequestBody UserUpdateDto userDto) {
+        log.info("Обновить пользователя с id = {}: {}", id, userDto);
+        return userClient.updateUser(id, userDto);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable long id) {
+        log.info("Удалить пользователя с id = {}", id);
+        return userClient.deleteUser(id);
+    }
+}
@@ -2,26 +2,38 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResilienceProperties;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough:true}") boolean passthrough,
+                      ClientHttpRequestFactory requestFactory,
+                      ResilienceProperties resilience,
+                      RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                resilience.forClient("users")
         );
     }
 
@@ -33,10 +45,15 @@ public class UserClient extends BaseClient {
         return post("", userDto);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
     public ResponseEntity<Object> updateUser(long userId, UserUpdateDto userDto) {
         return patch("/" + userId, userDto);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.REQUESTS, allEntries = true)
+    })
     public ResponseEntity<Object> deleteUser(long userId) {
         return delete("/" + userId);
     }
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BalancingClientHttpRequestFactoryTest {
+    private static final URI REQUEST_URI = URI.create("http://shareit-server/users/1");
+
+    private final ClientHttpRequestFactory delegate = Mockito.mock(ClientHttpRequestFactory.class);
+    private final BalancerProperties properties = new BalancerProperties();
+    private final CountDownLatch primaryRelease = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ServerBalancer balancer;
+    private RequestHedger hedger;
+    private BalancingClientHttpRequestFactory factory;
+
+    @BeforeEach
+    void newFactory() {
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinDelay(Duration.ofMillis(10));
+        balancer = new ServerBalancer(List.of(URI.create("http://server1:9090"), URI.create("http://server2:9090")),
+                properties, Mockito.mock(RestTemplate.class), Mockito.mock(TaskScheduler.class));
+        hedger = new RequestHedger(properties.getHedging());
+        hedger.bindTo(registry);
+        for (int i = 0; i < 100; i++) {
+            hedger.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+        factory = new BalancingClientHttpRequestFactory(delegate, balancer, hedger);
+    }
+
+    @AfterEach
+    void closeHedger() {
+        primaryRelease.countDown();
+        hedger.close();
+    }
+
+    @Test
+    void testHedgeWinsAndLoserClosed() throws Exception {
+        ClientHttpResponse slow = response();
+        ClientHttpResponse fast = response();
+
+        stubCalls(() -> {
+            primaryRelease.await();
+            return slow;
+        }, () -> fast);
+
+        ClientHttpResponse result = factory.createRequest(REQUEST_URI, HttpMethod.GET).execute();
+
+        assertEquals(HttpStatus.OK, result.getStatusCode(), "Неверный статус ответа");
+        verify(fast, never()).close();
+        awaitUntil(() -> registry.get("shareit.gateway.hedge.wins").functionCounter().count() == 1,
+                "Победа повтора не учтена");
+
+        primaryRelease.countDown();
+        verify(slow, timeout(1000)).close();
+        result.close();
+        verify(fast).close();
+        awaitNoOutstanding();
+    }
+
+    @Test
+    void testPrimaryWinsAndHedgeClosed() throws Exception {
+        CountDownLatch hedgeRelease = new CountDownLatch(1);
+        ClientHttpResponse primary = response();
+        ClientHttpResponse hedge = response();
+
+        stubCalls(() -> {
+            Thread.sleep(Duration.ofMillis(100));
+            return primary;
+        }, () -> {
+            hedgeRelease.await();
+            return hedge;
+        });
+
+        ClientHttpResponse result = factory.createRequest(REQUEST_URI, HttpMethod.GET).execute();
+
+        assertEquals(2, calls.get(), "Повтор не отправлен");
+        assertEquals(0, registry.get("shareit.gateway.hedge.wins").functionCounter().count(),
+                "Учтена победа повтора");
+        hedgeRelease.countDown();
+        verify(hedge, timeout(1000)).close();
+        result.close();
+        verify(primary).close();
+        awaitNoOutstanding();
+    }
+
+    @Test
+    void testBothFail() {
+        stubCalls(() -> {
+            primaryRelease.await();
+            throw new IOException("primary");
+        }, () -> {
+            primaryRelease.countDown();
+            throw new IOException("hedge");
+        });
+
+        assertThrows(IOException.class, () -> factory.createRequest(REQUEST_URI, HttpMethod.GET).execute(),
+                "Ошибка запросов не передана");
+        assertEquals(2, calls.get(), "Повтор не отправлен");
+        awaitNoOutstanding();
+    }
+
+    @Test
+    void testNoHedgeWithoutBudget() throws Exception {
+        ClientHttpResponse primary = response();
+
+        for (int i = 0; i < 10; i++) {
+            hedger.tryAcquireHedge();
+        }
+        stubCalls(() -> {
+            Thread.sleep(Duration.ofMillis(100));
+            return primary;
+        }, () -> fail("Повтор отправлен без бюджета"));
+
+        ClientHttpResponse result = factory.createRequest(REQUEST_URI, HttpMethod.GET).execute();
+
+        assertSame(HttpStatus.OK, result.getStatusCode(), "Неверный статус ответа");
+        assertEquals(1, calls.get(), "Повтор отправлен без бюджета");
+        assertEquals(1, registry.get("shareit.gateway.hedge.budget.exhausted").functionCounter().count(),
+                "Отказ из-за бюджета не учтён");
+        result.close();
+        awaitNoOutstanding();
+    }
+
+    @Test
+    void testNoHedgeForPost() throws Exception {
+        ClientHttpResponse primary = response();
+
+        stubCalls(() -> {
+            Thread.sleep(Duration.ofMillis(100));
+            return primary;
+        }, () -> fail("Повторён POST-запрос"));
+
+        factory.createRequest(REQUEST_URI, HttpMethod.POST).execute().close();
+
+        assertEquals(1, calls.get(), "Повторён POST-запрос");
+        awaitNoOutstanding();
+    }
+
+    private void stubCalls(Callable<ClientHttpResponse> primary, Callable<ClientHttpResponse> hedge) {
+        try {
+            when(delegate.createRequest(any(), any())).thenAnswer(invocation -> {
+                calls.incrementAndGet();
+                URI uri = invocation.getArgument(0);
+                Callable<ClientHttpResponse> call = uri.getHost().equals("server1") ? primary : hedge;
+                ClientHttpRequest request = Mockito.mock(ClientHttpRequest.class);
+
+                when(request.getHeaders()).thenReturn(new HttpHeaders());
+                when(request.getBody()).thenReturn(new ByteArrayOutputStream());
+                when(request.execute()).thenAnswer(execution -> call.call());
+                return request;
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitNoOutstanding() {
+        awaitUntil(() -> balancer.getInstances().stream().allMatch(instance -> instance.getOutstanding() == 0),
+                "Запросы к экземплярам не завершены");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String message) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ClientHttpResponse response() throws IOException {
+        ClientHttpResponse response = Mockito.mock(ClientHttpResponse.class);
+
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        return response;
+    }
+}
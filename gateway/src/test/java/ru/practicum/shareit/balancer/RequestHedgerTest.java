@@ -0,0 +1,116 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    private final BalancerProperties.Hedging properties = new BalancerProperties.Hedging();
+    private final RequestHedger hedger = new RequestHedger(properties);
+
+    @AfterEach
+    void closeHedger() {
+        hedger.close();
+    }
+
+    @Test
+    void testBudgetStartsFullAndRunsOut() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        hedger.bindTo(registry);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(hedger.tryAcquireHedge(), "Повтор в пределах бюджета отклонён");
+        }
+
+        assertFalse(hedger.tryAcquireHedge(), "Повтор сверх бюджета разрешён");
+        assertEquals(10, registry.get("shareit.gateway.hedge.requests").functionCounter().count(),
+                "Неверное число повторов");
+        assertEquals(1, registry.get("shareit.gateway.hedge.budget.exhausted").functionCounter().count(),
+                "Неверное число отклонённых повторов");
+    }
+
+    @Test
+    void testBudgetRefillsByRequestShare() {
+        drainBudget();
+
+        for (int i = 0; i < 9; i++) {
+            hedger.onRequest();
+        }
+        assertFalse(hedger.tryAcquireHedge(), "Повтор разрешён до накопления бюджета");
+
+        hedger.onRequest();
+        assertTrue(hedger.tryAcquireHedge(), "Повтор не разрешён после 10 запросов");
+        assertFalse(hedger.tryAcquireHedge(), "Разрешено больше одного повтора на 10 запросов");
+    }
+
+    @Test
+    void testBudgetCapped() {
+        drainBudget();
+
+        for (int i = 0; i < 1000; i++) {
+            hedger.onRequest();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(hedger.tryAcquireHedge(), "Повтор в пределах бюджета отклонён");
+        }
+        assertFalse(hedger.tryAcquireHedge(), "Бюджет превысил 10 повторов");
+    }
+
+    @Test
+    void testDelayUnknownUntilMinSamples() {
+        for (int i = 0; i < 99; i++) {
+            hedger.recordLatency(50 * MILLIS);
+        }
+        assertEquals(-1, hedger.getDelayNanos(), "Задержка рассчитана по малой выборке");
+
+        hedger.recordLatency(50 * MILLIS);
+        assertEquals(50 * MILLIS, hedger.getDelayNanos(), "Неверная задержка");
+    }
+
+    @Test
+    void testDelayPercentile() {
+        for (int i = 1; i <= 100; i++) {
+            hedger.recordLatency(i * MILLIS);
+        }
+
+        assertEquals(95 * MILLIS, hedger.getDelayNanos(), "Неверный перцентиль задержки");
+    }
+
+    @Test
+    void testDelayNotBelowMinDelay() {
+        for (int i = 0; i < 100; i++) {
+            hedger.recordLatency(MILLIS);
+        }
+
+        assertEquals(properties.getMinDelay().toNanos(), hedger.getDelayNanos(), "Задержка меньше минимальной");
+    }
+
+    @Test
+    void testDelayUsesLastSamples() {
+        properties.setSampleSize(100);
+        RequestHedger recentHedger = new RequestHedger(properties);
+
+        try (recentHedger) {
+            for (int i = 0; i < 100; i++) {
+                recentHedger.recordLatency(500 * MILLIS);
+            }
+            for (int i = 0; i < 100; i++) {
+                recentHedger.recordLatency(20 * MILLIS);
+            }
+
+            assertEquals(20 * MILLIS, recentHedger.getDelayNanos(), "Задержка учитывает старые запросы");
+        }
+    }
+
+    private void drainBudget() {
+        for (int i = 0; i < 10; i++) {
+            hedger.tryAcquireHedge();
+        }
+    }
+}
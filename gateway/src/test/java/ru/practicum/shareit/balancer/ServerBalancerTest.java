@@ -0,0 +1,221 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerBalancerTest {
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+    private static final List<URI> URLS = List.of(URI.create("http://server1:9090"),
+            URI.create("http://server2:9090"), URI.create("http://server3:9090"));
+
+    private final BalancerProperties properties = new BalancerProperties();
+
+    @Test
+    void testUserStaysOnHighestWeightInstance() {
+        ServerBalancer balancer = balancer(URLS);
+
+        for (long userId = 1; userId <= 100; userId++) {
+            ServerInstance instance = balancer.choose(userId, 0);
+
+            assertSame(byWeight(balancer, userId).getFirst(), instance, "Выбран экземпляр не с наибольшим весом");
+            assertSame(instance, balancer.choose(userId, 0), "Запросы пользователя ушли на разные экземпляры");
+            assertEquals(instance.getUri(), balancer(URLS).choose(userId, 0).getUri(),
+                    "Выбор экземпляра зависит не только от пользователя");
+        }
+    }
+
+    @Test
+    void testAddInstanceMovesOnlyItsShare() {
+        ServerBalancer balancer = balancer(URLS);
+        URI added = URI.create("http://server4:9090");
+        ServerBalancer extended = balancer(List.of(URLS.get(0), URLS.get(1), URLS.get(2), added));
+        int users = 4000;
+        int moved = 0;
+
+        for (long userId = 1; userId <= users; userId++) {
+            URI before = balancer.choose(userId, 0).getUri();
+            URI after = extended.choose(userId, 0).getUri();
+
+            if (!before.equals(after)) {
+                assertEquals(added, after, "Пользователь переехал между прежними экземплярами");
+                moved++;
+            }
+        }
+        assertTrue(moved > users / 4 * 0.8 && moved < users / 4 * 1.2,
+                "Переехала не четверть пользователей: " + moved);
+    }
+
+    @Test
+    void testUsersSpreadAcrossInstances() {
+        ServerBalancer balancer = balancer(URLS);
+
+        for (ServerInstance instance : balancer.getInstances()) {
+            long users = IntStream.rangeClosed(1, 3000)
+                    .filter(userId -> balancer.choose((long) userId, 0) == instance)
+                    .count();
+
+            assertTrue(users > 800 && users < 1200, "Неравномерное распределение пользователей: " + users);
+        }
+    }
+
+    @Test
+    void testSpillOverLoadedInstance() {
+        ServerBalancer balancer = balancer(URLS);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        long userId = 42;
+        ServerInstance preferred = byWeight(balancer, userId).get(0);
+        ServerInstance second = byWeight(balancer, userId).get(1);
+
+        assertSame(preferred, balancer.choose(userId, 0), "Выбран не закреплённый экземпляр");
+        balancer.bindTo(registry);
+        preferred.acquire();
+
+        assertSame(second, balancer.choose(userId, 0), "Запрос не ушёл следующему по весу экземпляру");
+        assertEquals(1, registry.get("shareit.gateway.upstream.affinity.spillover").functionCounter().count(),
+                "Неверное число перенаправленных запросов");
+
+        second.acquire();
+        assertSame(preferred, balancer.choose(userId, 0), "Запрос не вернулся на закреплённый экземпляр");
+
+        preferred.release();
+        second.release();
+        assertSame(preferred, balancer.choose(userId, 0), "Запрос не вернулся на закреплённый экземпляр");
+    }
+
+    @Test
+    void testSkipUnavailableInstance() {
+        ServerBalancer balancer = balancer(URLS);
+        long userId = 7;
+
+        balancer.onConnectFailed(byWeight(balancer, userId).get(0));
+
+        assertSame(byWeight(balancer, userId).get(1), balancer.choose(userId, 0),
+                "Запрос ушёл не следующему по весу экземпляру");
+    }
+
+    @Test
+    void testWithoutUserChooseLeastOutstanding() {
+        ServerBalancer balancer = balancer(URLS);
+        List<ServerInstance> instances = balancer.getInstances();
+
+        instances.get(0).acquire();
+        instances.get(2).acquire();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(instances.get(1), balancer.choose(null, 0), "Выбран не наименее загруженный экземпляр");
+        }
+    }
+
+    @Test
+    void testAllUnavailableUseAll() {
+        ServerBalancer balancer = balancer(URLS);
+
+        balancer.getInstances().forEach(balancer::onConnectFailed);
+
+        assertNotNull(balancer.choose(1L, 0), "Экземпляр не выбран");
+        assertNotNull(balancer.choose(null, 0), "Экземпляр не выбран");
+    }
+
+    @Test
+    void testLatencyMovingAverage() {
+        ServerInstance instance = new ServerInstance(URLS.getFirst());
+
+        instance.recordLatency(100);
+        assertEquals(100, instance.getLatencyNanos(), "Первая задержка не принята целиком");
+        instance.recordLatency(200);
+        assertEquals(120, instance.getLatencyNanos(), 1e-9, "Неверная сглаженная задержка");
+        instance.recordLatency(20);
+        assertEquals(100, instance.getLatencyNanos(), 1e-9, "Неверная сглаженная задержка");
+    }
+
+    @Test
+    void testEjectSlowInstance() {
+        ServerBalancer balancer = balancer(URLS);
+        List<ServerInstance> instances = balancer.getInstances();
+        long ejectionNanos = properties.getEjectionDuration().toNanos();
+
+        instances.get(0).recordLatency(200 * MILLIS);
+        instances.get(1).recordLatency(200 * MILLIS);
+        instances.get(2).recordLatency(700 * MILLIS);
+        balancer.ejectSlowInstances(0);
+
+        assertTrue(instances.get(0).isAvailable(0), "Исключён экземпляр с обычной задержкой");
+        assertTrue(instances.get(1).isAvailable(0), "Исключён экземпляр с обычной задержкой");
+        assertFalse(instances.get(2).isAvailable(0), "Медленный экземпляр не исключён");
+        assertEquals(0, instances.get(2).getLatencyNanos(), "Задержка исключённого экземпляра не сброшена");
+        for (long userId = 1; userId <= 50; userId++) {
+            assertNotSame(instances.get(2), balancer.choose(userId, 0), "Запрос ушёл на исключённый экземпляр");
+        }
+        assertFalse(instances.get(2).isAvailable(ejectionNanos - 1), "Экземпляр возвращён раньше времени");
+        assertTrue(instances.get(2).isAvailable(ejectionNanos), "Экземпляр не возвращён после исключения");
+    }
+
+    @Test
+    void testNotEjectBelowFactor() {
+        ServerBalancer balancer = balancer(URLS);
+        List<ServerInstance> instances = balancer.getInstances();
+
+        instances.get(0).recordLatency(200 * MILLIS);
+        instances.get(1).recordLatency(200 * MILLIS);
+        instances.get(2).recordLatency(500 * MILLIS);
+        balancer.ejectSlowInstances(0);
+
+        assertTrue(instances.stream().allMatch(instance -> instance.isAvailable(0)),
+                "Исключён экземпляр с задержкой ниже порога");
+    }
+
+    @Test
+    void testNotEjectBelowMinLatency() {
+        ServerBalancer balancer = balancer(URLS);
+        List<ServerInstance> instances = balancer.getInstances();
+
+        instances.get(0).recordLatency(MILLIS);
+        instances.get(1).recordLatency(MILLIS);
+        instances.get(2).recordLatency(50 * MILLIS);
+        balancer.ejectSlowInstances(0);
+
+        assertTrue(instances.get(2).isAvailable(0), "Исключён экземпляр с задержкой ниже минимальной");
+    }
+
+    @Test
+    void testEjectNoMoreThanMaxPercent() {
+        properties.setMaxEjectedPercent(20);
+        ServerBalancer balancer = balancer(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> URI.create("http://server" + i + ":9090"))
+                .toList());
+        List<ServerInstance> instances = balancer.getInstances();
+
+        for (int i = 0; i < 3; i++) {
+            instances.get(i).recordLatency(100 * MILLIS);
+        }
+        instances.get(3).recordLatency(1000 * MILLIS);
+        instances.get(4).recordLatency(1000 * MILLIS);
+        balancer.ejectSlowInstances(0);
+        balancer.ejectSlowInstances(0);
+
+        assertFalse(instances.get(3).isAvailable(0), "Медленный экземпляр не исключён");
+        assertTrue(instances.get(4).isAvailable(0), "Исключено больше экземпляров, чем разрешено");
+    }
+
+    private ServerBalancer balancer(List<URI> urls) {
+        return new ServerBalancer(urls, properties, Mockito.mock(RestTemplate.class),
+                Mockito.mock(TaskScheduler.class));
+    }
+
+    private static List<ServerInstance> byWeight(ServerBalancer balancer, long userId) {
+        return balancer.getInstances().stream()
+                .sorted(Comparator.comparingLong((ServerInstance instance) -> instance.weight(userId)).reversed())
+                .toList();
+    }
+}
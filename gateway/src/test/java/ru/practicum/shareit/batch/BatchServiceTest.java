@@ -0,0 +1,239 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchServiceTest {
+    private final DispatcherServlet dispatcherServlet = Mockito.mock(DispatcherServlet.class);
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BatchService batchService = new BatchService(dispatcherServlet, new BatchFilters(beanFactory),
+            objectMapper, "/error", 20, Duration.ofSeconds(5));
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/batch");
+
+    @AfterEach
+    void closeService() {
+        batchService.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/batch", "/batch?x=1", "/batch/", "/batch;x", "/batch;a=b/", "/%62atch", "/batch/x"})
+    void testRejectNestedBatch(String path) throws Exception {
+        BatchRequestDto batch = batch(new SubRequestDto("POST", path, Map.of("requests", List.of())));
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> batchService.execute(request, 1L, batch), "Вложенный пакет не отклонён");
+
+        assertEquals("Вложенные пакеты запросов не поддерживаются", e.getMessage(), "Неверное сообщение ошибки");
+        verify(dispatcherServlet, never()).service(any(), any());
+    }
+
+    @Test
+    void testRejectBatchFromSubRequest() {
+        request.setAttribute(BatchService.SUB_REQUEST_ATTRIBUTE, Boolean.TRUE);
+
+        assertThrows(ValidationException.class,
+                () -> batchService.execute(request, 1L, batch(new SubRequestDto("GET", "/users/1", null))),
+                "Пакет внутри пакета не отклонён");
+    }
+
+    @Test
+    void testRejectMalformedPath() {
+        assertThrows(ValidationException.class,
+                () -> batchService.execute(request, 1L, batch(new SubRequestDto("GET", "/users/%zz", null))),
+                "Некорректный путь не отклонён");
+    }
+
+    @Test
+    void testDispatchInProcess() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            HttpServletResponse subResponse = invocation.getArgument(1);
+
+            assertEquals("GET", subRequest.getMethod(), "Неверный метод запроса");
+            assertEquals("/items/search", subRequest.getRequestURI(), "Неверный путь запроса");
+            assertEquals("a b", subRequest.getParameter("text"), "Неверный параметр запроса");
+            assertEquals("1", subRequest.getHeader("X-Sharer-User-Id"), "Неверный заголовок пользователя");
+            subResponse.setContentType("application/json");
+            subResponse.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        BatchResponseDto result = batchService.execute(request, 1L,
+                batch(new SubRequestDto("GET", "/items/search?text=a+b", null)));
+        SubResponseDto subResponse = result.getResponses().getFirst();
+
+        assertEquals(200, subResponse.getStatus(), "Неверный статус ответа");
+        assertEquals(1, ((JsonNode) subResponse.getBody()).get(0).get("id").asInt(), "Неверное тело ответа");
+    }
+
+    @Test
+    void testDispatchErrorPage() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            HttpServletResponse subResponse = invocation.getArgument(1);
+
+            if (subRequest.getRequestURI().equals("/error")) {
+                assertEquals(429, subRequest.getAttribute(RequestDispatcher.ERROR_STATUS_CODE),
+                        "Неверный статус в странице ошибки");
+                assertEquals("/users/1", subRequest.getAttribute(RequestDispatcher.ERROR_REQUEST_URI),
+                        "Неверный путь в странице ошибки");
+                subResponse.setContentType("application/json");
+                subResponse.getWriter().write("{\"status\":429}");
+            } else {
+                subResponse.getWriter().write("partial");
+                subResponse.sendError(429, "Too Many Requests");
+            }
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        SubResponseDto subResponse = batchService.execute(request, 1L,
+                batch(new SubRequestDto("GET", "/users/1", null))).getResponses().getFirst();
+
+        assertEquals(429, subResponse.getStatus(), "Неверный статус ответа");
+        assertEquals(429, ((JsonNode) subResponse.getBody()).get("status").asInt(), "Неверное тело ответа");
+        verify(dispatcherServlet, times(2)).service(any(), any());
+    }
+
+    @Test
+    void testDispatchTimeout() throws Exception {
+        BatchService slowService = new BatchService(dispatcherServlet, new BatchFilters(beanFactory), objectMapper,
+                "/error", 20, Duration.ofMillis(100));
+
+        doAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(5));
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        try (slowService) {
+            SubResponseDto subResponse = slowService.execute(request, 1L,
+                    batch(new SubRequestDto("GET", "/users/1", null))).getResponses().getFirst();
+
+            assertEquals(504, subResponse.getStatus(), "Неверный статус ответа");
+        }
+    }
+
+    @Test
+    void testReturnSubResponseHeaders() throws Exception {
+        doAnswer(invocation -> {
+            HttpServletResponse subResponse = invocation.getArgument(1);
+
+            subResponse.setHeader("X-Next-Cursor", "42");
+            subResponse.setIntHeader(HttpHeaders.RETRY_AFTER, 3);
+            subResponse.setContentType("application/json");
+            subResponse.getWriter().write("[]");
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        SubResponseDto subResponse = batchService.execute(request, 1L,
+                batch(new SubRequestDto("GET", "/items?cursor=1", null))).getResponses().getFirst();
+
+        assertEquals(Map.of("X-Next-Cursor", List.of("42"), HttpHeaders.RETRY_AFTER, List.of("3")),
+                subResponse.getHeaders(), "Неверные заголовки ответа");
+    }
+
+    @Test
+    void testDispatchThroughFilters() throws Exception {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            ((HttpServletResponse) response).addHeader("X-Filtered", request.getDispatcherType().name());
+            chain.doFilter(request, response);
+        });
+
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ERROR);
+        beanFactory.registerSingleton("testFilter", registration);
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+            HttpServletResponse subResponse = invocation.getArgument(1);
+
+            if (subRequest.getRequestURI().equals("/users/2")) {
+                subResponse.sendError(404);
+            }
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        List<SubResponseDto> responses = batchService.execute(request, 1L,
+                batch(new SubRequestDto("GET", "/users/1", null), new SubRequestDto("GET", "/users/2", null)))
+                .getResponses();
+
+        assertEquals(List.of("REQUEST"), responses.get(0).getHeaders().get("X-Filtered"),
+                "Запрос выполнен без фильтров");
+        assertEquals(List.of("ERROR"), responses.get(1).getHeaders().get("X-Filtered"),
+                "Страница ошибки выполнена без фильтров");
+    }
+
+    @Test
+    void testTimedOutDispatchDoesNotTouchOuterRequest() throws Exception {
+        MockHttpServletRequest outer = Mockito.spy(request);
+        BatchService slowService = new BatchService(dispatcherServlet, new BatchFilters(beanFactory), objectMapper,
+                "/error", 20, Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+
+        outer.setCookies(new Cookie("session", "1"));
+        doAnswer(invocation -> {
+            HttpServletRequest subRequest = invocation.getArgument(0);
+
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            assertNull(subRequest.getSession(false), "У запроса из пакета есть сессия");
+            assertNull(subRequest.getCookies(), "Запрос из пакета получил cookie пакета");
+            assertNull(subRequest.getUserPrincipal(), "Запрос из пакета получил пользователя пакета");
+            assertNotNull(subRequest.getServletContext(), "Нет контекста сервлетов");
+            subRequest.getRemoteHost();
+            subRequest.getProtocol();
+            subRequest.getLocalPort();
+            subRequest.getParameterMap();
+            subRequest.setAttribute("late", Boolean.TRUE);
+            finished.countDown();
+            return null;
+        }).when(dispatcherServlet).service(any(), any());
+
+        try (slowService) {
+            SubResponseDto subResponse = slowService.execute(outer, 1L,
+                    batch(new SubRequestDto("GET", "/users/1", null))).getResponses().getFirst();
+
+            assertEquals(504, subResponse.getStatus(), "Неверный статус ответа");
+            clearInvocations(outer);
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS), "Запрос из пакета не завершён");
+            verifyNoInteractions(outer);
+        }
+    }
+
+    private static BatchRequestDto batch(SubRequestDto... requests) {
+        return new BatchRequestDto(List.of(requests));
+    }
+}
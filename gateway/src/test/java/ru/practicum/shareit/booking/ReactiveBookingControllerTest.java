@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveBookingController.class)
+class ReactiveBookingControllerTest {
+    private static final String BOOKING_JSON = "{\"id\":1,\"status\":\"WAITING\"}";
+
+    private final WebTestClient webClient;
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+
+    @Autowired
+    ReactiveBookingControllerTest(WebTestClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Test
+    void testGetBooking() {
+        when(bookingClient.getBooking(1L, 1L)).thenReturn(Mono.just(json(HttpStatus.OK, BOOKING_JSON)));
+
+        webClient.get().uri("/bookings/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("WAITING");
+    }
+
+    @Test
+    void testAddBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        when(bookingClient.addBooking(eq(1L), any(BookingDto.class)))
+                .thenReturn(Mono.just(json(HttpStatus.CREATED, BOOKING_JSON)));
+
+        webClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookingDto(1L, start, start.plusDays(1)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void testAddBookingWithInvalidTimeFrame() {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+
+        webClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookingDto(1L, start, start.minusDays(1)))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void testUpdateBooking() {
+        when(bookingClient.updateBooking(1L, 1L, true))
+                .thenReturn(Mono.just(json(HttpStatus.OK, "{\"id\":1,\"status\":\"APPROVED\"}")));
+
+        webClient.patch().uri("/bookings/1?approved=true")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+    }
+
+    @Test
+    void testGetUserBookings() {
+        when(bookingClient.getUserBookings(1L, BookingState.FUTURE, 0, 10, null))
+                .thenReturn(Mono.just(json(HttpStatus.OK, "[" + BOOKING_JSON + "]")));
+
+        webClient.get().uri("/bookings?state=future")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    void testGetBookingsWithUnknownState() {
+        webClient.get().uri("/bookings/owner?state=unknown")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void testGetBookingsWithInvalidPage() {
+        webClient.get().uri("/bookings?from=-1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").exists();
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
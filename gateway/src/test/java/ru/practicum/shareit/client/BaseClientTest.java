@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private final RestTemplate rest = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+
+    @Test
+    void testStreamFailuresOpenCircuit() {
+        BaseClient client = new BaseClient(rest, true, settings());
+
+        server.expect(times(4), requestTo("/export"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withServerError());
+
+        for (int i = 0; i < 4; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            client.stream("/export", 1L, Map.of(), MediaType.APPLICATION_NDJSON, response);
+            assertEquals(500, response.getStatus(), "Неверный статус ответа");
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        client.stream("/export", 1L, Map.of(), MediaType.APPLICATION_NDJSON, rejected);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus(), "Выгрузка не отклонена");
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER), "Нет заголовка Retry-After");
+        server.verify();
+    }
+
+    @Test
+    void testStreamHoldsBulkhead() throws Exception {
+        ResilienceProperties.Settings settings = settings();
+        settings.setMaxConcurrentCalls(1);
+        BaseClient client = new BaseClient(rest, true, settings);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        server.expect(requestTo("/export"))
+                .andRespond(request -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                    return withSuccess("{\"id\":1}\n", MediaType.APPLICATION_NDJSON).createResponse(request);
+                });
+
+        CompletableFuture<Void> export = CompletableFuture.runAsync(() ->
+                client.stream("/export", 1L, Map.of(), MediaType.APPLICATION_NDJSON, response));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Выгрузка не начата");
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, client.get("/users/1").getStatusCode(),
+                "Запрос выполнен сверх числа одновременных запросов");
+
+        release.countDown();
+        export.get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, response.getStatus(), "Неверный статус выгрузки");
+        assertEquals("{\"id\":1}\n", response.getContentAsString(), "Неверное тело выгрузки");
+        server.verify();
+    }
+
+    private static ResilienceProperties.Settings settings() {
+        ResilienceProperties.Settings settings = new ResilienceProperties.Settings();
+
+        settings.setWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        return settings;
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private static final long OPEN_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("test", settings());
+
+    @Test
+    void testStayClosedBelowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            call(true, 0);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(),
+                "Прерыватель открыт до минимума вызовов");
+    }
+
+    @Test
+    void testOpenOnFailureRate() {
+        call(false, 0);
+        call(false, 0);
+        call(true, 0);
+        call(true, 0);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(), "Прерыватель не открыт");
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquirePermission(1),
+                "Открытый прерыватель пропустил вызов");
+        assertEquals(OPEN_NANOS - 1, circuitBreaker.retryAfterNanos(1), "Неверное время до повтора");
+    }
+
+    @Test
+    void testSlidingWindowCountsLastCalls() {
+        call(true, 0);
+        for (int i = 0; i < 7; i++) {
+            call(false, 0);
+        }
+        call(true, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(), "Прерыватель открыт раньше времени");
+        call(true, 0);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(),
+                "Прерыватель учитывает вызовы за пределами окна");
+    }
+
+    @Test
+    void testHalfOpenLimitsCalls() {
+        open();
+
+        assertNotEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquirePermission(OPEN_NANOS),
+                "Первый пробный вызов отклонён");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(), "Прерыватель не полуоткрыт");
+        assertNotEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquirePermission(OPEN_NANOS),
+                "Второй пробный вызов отклонён");
+        assertEquals(CircuitBreaker.REJECTED, circuitBreaker.tryAcquirePermission(OPEN_NANOS),
+                "Пропущено больше пробных вызовов, чем задано");
+    }
+
+    @Test
+    void testHalfOpenSuccessesClose() {
+        open();
+
+        call(false, OPEN_NANOS);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(), "Прерыватель закрыт раньше времени");
+        call(false, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(), "Прерыватель не закрыт");
+        call(true, OPEN_NANOS);
+        call(true, OPEN_NANOS);
+        call(true, OPEN_NANOS);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(),
+                "Окно вызовов не сброшено после закрытия");
+    }
+
+    @Test
+    void testHalfOpenFailureReopens() {
+        open();
+
+        call(true, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(), "Прерыватель не открыт повторно");
+        assertEquals(OPEN_NANOS, circuitBreaker.retryAfterNanos(OPEN_NANOS), "Неверное время до повтора");
+    }
+
+    @Test
+    void testClosedCallFinishingInHalfOpenIgnored() {
+        long slowPermit = circuitBreaker.tryAcquirePermission(0);
+
+        open();
+        long probe = circuitBreaker.tryAcquirePermission(OPEN_NANOS);
+        circuitBreaker.onResult(slowPermit, false, OPEN_NANOS);
+        circuitBreaker.onResult(probe, false, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(),
+                "Вызов, начатый до открытия, засчитан как пробный");
+
+        long failedSlowPermit = circuitBreaker.tryAcquirePermission(OPEN_NANOS);
+        circuitBreaker.onResult(slowPermit, true, OPEN_NANOS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(),
+                "Ошибка вызова, начатого до открытия, открыла прерыватель");
+        circuitBreaker.onResult(failedSlowPermit, false, OPEN_NANOS);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(), "Прерыватель не закрыт");
+    }
+
+    @Test
+    void testClosedCallFinishingInOpenIgnored() {
+        long slowPermit = circuitBreaker.tryAcquirePermission(0);
+
+        open();
+        circuitBreaker.onResult(slowPermit, false, 1);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(), "Прерыватель закрыт поздним вызовом");
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true, 0);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(), "Прерыватель не открыт");
+    }
+
+    private void call(boolean failure, long now) {
+        long permit = circuitBreaker.tryAcquirePermission(now);
+
+        assertNotEquals(CircuitBreaker.REJECTED, permit, "Вызов отклонён");
+        circuitBreaker.onResult(permit, failure, now);
+    }
+
+    private static ResilienceProperties.Settings settings() {
+        ResilienceProperties.Settings settings = new ResilienceProperties.Settings();
+
+        settings.setWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        settings.setHalfOpenCalls(2);
+        return settings;
+    }
+}
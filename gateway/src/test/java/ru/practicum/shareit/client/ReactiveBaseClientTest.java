@@ -0,0 +1,113 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveBaseClientTest {
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Sinks.One<ClientResponse> upstream = Sinks.one();
+
+    @Test
+    void testConcurrentGetsCollapsed() {
+        ReactiveBaseClient client = new ReactiveBaseClient(pendingClient(), true, settings());
+
+        CompletableFuture<ResponseEntity<Object>> first = client.get("/users/1").toFuture();
+        CompletableFuture<ResponseEntity<Object>> second = client.get("/users/1").toFuture();
+
+        assertEquals(1, calls.get(), "Одинаковые запросы не объединены");
+        upstream.tryEmitValue(ok());
+
+        assertEquals("{\"id\":1}", body(first.join()), "Неверный ответ первого запроса");
+        assertEquals("{\"id\":1}", body(second.join()), "Неверный ответ второго запроса");
+
+        client.get("/users/1").toFuture();
+        assertEquals(2, calls.get(), "Завершённый запрос не удалён из обрабатываемых");
+    }
+
+    @Test
+    void testBulkheadRejectsExcessCalls() {
+        ResilienceProperties.Settings settings = settings();
+        settings.setMaxConcurrentCalls(1);
+        ReactiveBaseClient client = new ReactiveBaseClient(pendingClient(), true, settings);
+
+        CompletableFuture<ResponseEntity<Object>> pending = client.get("/users/1").toFuture();
+        ResponseEntity<Object> rejected = client.get("/users/2").block(Duration.ofSeconds(5));
+
+        assertNotNull(rejected);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode(),
+                "Запрос выполнен сверх числа одновременных запросов");
+        assertNotNull(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "Нет заголовка Retry-After");
+
+        upstream.tryEmitValue(ok());
+        assertEquals(HttpStatus.OK, pending.join().getStatusCode(), "Неверный статус ответа");
+        assertEquals(HttpStatus.OK, client.get("/users/2").block(Duration.ofSeconds(5)).getStatusCode(),
+                "Место в очереди запросов не освобождено");
+    }
+
+    @Test
+    void testFailuresOpenCircuit() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                })
+                .build();
+        ReactiveBaseClient client = new ReactiveBaseClient(webClient, true, settings());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                    client.get("/users/" + i).block(Duration.ofSeconds(5)).getStatusCode(), "Неверный статус ответа");
+        }
+        ResponseEntity<Object> rejected = client.get("/users/1").block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode(), "Запрос не отклонён");
+        assertNotNull(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "Нет заголовка Retry-After");
+        assertEquals(4, calls.get(), "Запрос отправлен при разомкнутой цепи");
+    }
+
+    private WebClient pendingClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return request.url().getPath().equals("/users/1")
+                            ? upstream.asMono()
+                            : Mono.just(ok());
+                })
+                .build();
+    }
+
+    private static ClientResponse ok() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"id\":1}")
+                .build();
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static ResilienceProperties.Settings settings() {
+        ResilienceProperties.Settings settings = new ResilienceProperties.Settings();
+
+        settings.setWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        return settings;
+    }
+}
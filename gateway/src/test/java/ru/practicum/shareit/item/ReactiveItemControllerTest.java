@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveItemController.class)
+class ReactiveItemControllerTest {
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}";
+
+    private final WebTestClient webClient;
+    @MockBean
+    private ReactiveItemClient itemClient;
+
+    @Autowired
+    ReactiveItemControllerTest(WebTestClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Test
+    void testGetItem() {
+        when(itemClient.getItem(1L, 1L)).thenReturn(Mono.just(json(HttpStatus.OK, ITEM_JSON)));
+
+        webClient.get().uri("/items/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Дрель");
+    }
+
+    @Test
+    void testGetItemWithoutUser() {
+        webClient.get().uri("/items/1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void testCreateItem() {
+        when(itemClient.addItem(eq(1L), any(ItemDto.class))).thenReturn(Mono.just(json(HttpStatus.CREATED, ITEM_JSON)));
+
+        webClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ItemDto("Дрель", "Ударная", true, null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void testCreateInvalidItem() {
+        webClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ItemDto("Дрель", "Ударная", null, null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void testSearchItems() {
+        when(itemClient.searchItems(1L, "дрель", true, 0, 10))
+                .thenReturn(Mono.just(json(HttpStatus.OK, "[" + ITEM_JSON + "]")));
+
+        webClient.get().uri("/items/search?text={text}&fuzzy=true", "дрель")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("Дрель");
+    }
+
+    @Test
+    void testSearchBlankText() {
+        webClient.get().uri("/items/search?text=")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void testSearchInvalidPage() {
+        webClient.get().uri("/items/search?text=дрель&size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void testAddEmptyComment() {
+        webClient.post().uri("/items/1/comment")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CommentDto(null, "", null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(itemClient);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitOffendersTest {
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @Test
+    void testTopOffendersOrderedByRejections() {
+        properties.setTopOffenders(2);
+        RateLimitOffenders offenders = new RateLimitOffenders(properties);
+
+        rejectTimes(offenders, 1L, 1);
+        rejectTimes(offenders, 2L, 5);
+        rejectTimes(offenders, 3L, 3);
+
+        assertEquals(List.of(new RateLimitOffenders.Offender(2L, 5), new RateLimitOffenders.Offender(3L, 3)),
+                offenders.offenders(), "Неверный список нарушителей");
+    }
+
+    @Test
+    void testGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimitOffenders offenders = new RateLimitOffenders(properties);
+
+        offenders.bindTo(registry);
+        rejectTimes(offenders, 1L, 2);
+        rejectTimes(offenders, 2L, 7);
+
+        assertEquals(2, registry.get("shareit.gateway.rate-limit.offenders").gauge().value(),
+                "Неверное число нарушителей");
+        assertEquals(7, registry.get("shareit.gateway.rate-limit.top-offender.rejected").gauge().value(),
+                "Неверное число отклонённых запросов нарушителя");
+    }
+
+    private static void rejectTimes(RateLimitOffenders offenders, long userId, int times) {
+        for (int i = 0; i < times; i++) {
+            offenders.onRejected(userId);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testConsumeCapacityAtOnce() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryConsume(0), "Запрос в пределах ёмкости отклонён");
+        }
+        assertEquals(SECOND, bucket.tryConsume(0), "Неверное время ожидания после исчерпания ёмкости");
+    }
+
+    @Test
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+        long interval = SECOND / 4;
+
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertEquals(interval / 2, bucket.tryConsume(interval / 2), "Неверное время ожидания до пополнения");
+        assertEquals(0, bucket.tryConsume(interval), "Пополненный токен не выдан");
+        assertTrue(bucket.tryConsume(interval) > 0, "Выдано больше токенов, чем пополнено");
+    }
+
+    @Test
+    void testRejectedRequestsDoNotConsume() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        bucket.tryConsume(0);
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(SECOND / 2);
+        }
+
+        assertEquals(0, bucket.tryConsume(SECOND), "Отклонённые запросы израсходовали токены");
+    }
+
+    @Test
+    void testIdleDoesNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        long now = 100 * SECOND;
+
+        assertEquals(0, bucket.tryConsume(now), "Первый токен после простоя не выдан");
+        assertEquals(0, bucket.tryConsume(now), "Второй токен после простоя не выдан");
+        assertEquals(SECOND, bucket.tryConsume(now), "После простоя накоплено больше ёмкости");
+    }
+}
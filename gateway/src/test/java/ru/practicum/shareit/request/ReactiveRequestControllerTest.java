@@ -0,0 +1,110 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveRequestController.class)
+class ReactiveRequestControllerTest {
+    private static final String REQUEST_JSON = "{\"id\":1,\"description\":\"Хочу золотой молоток\"}";
+
+    private final WebTestClient webClient;
+    @MockBean
+    private ReactiveRequestClient requestClient;
+
+    @Autowired
+    ReactiveRequestControllerTest(WebTestClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Test
+    void testGetRequest() {
+        when(requestClient.getRequest(1L, 1L)).thenReturn(Mono.just(json(HttpStatus.OK, REQUEST_JSON)));
+
+        webClient.get().uri("/requests/1")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.description").isEqualTo("Хочу золотой молоток");
+    }
+
+    @Test
+    void testGetMissingRequest() {
+        when(requestClient.getRequest(1L, 2L))
+                .thenReturn(Mono.just(json(HttpStatus.NOT_FOUND, "{\"error\":\"Запрос не найден\"}")));
+
+        webClient.get().uri("/requests/2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Запрос не найден");
+    }
+
+    @Test
+    void testGetUserRequests() {
+        when(requestClient.getUserRequests(1L)).thenReturn(Mono.just(json(HttpStatus.OK, "[" + REQUEST_JSON + "]")));
+
+        webClient.get().uri("/requests")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].id").isEqualTo(1);
+    }
+
+    @Test
+    void testGetAllRequests() {
+        when(requestClient.getAllRequests(1L)).thenReturn(Mono.just(json(HttpStatus.OK, "[]")));
+
+        webClient.get().uri("/requests/all")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void testAddRequest() {
+        when(requestClient.addRequest(eq(1L), any(ItemRequestDto.class)))
+                .thenReturn(Mono.just(json(HttpStatus.CREATED, REQUEST_JSON)));
+
+        webClient.post().uri("/requests")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ItemRequestDto("Хочу золотой молоток"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void testAddBlankRequest() {
+        webClient.post().uri("/requests")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ItemRequestDto(" "))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(requestClient);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
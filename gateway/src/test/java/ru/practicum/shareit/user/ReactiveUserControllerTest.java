@@ -0,0 +1,107 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveUserController.class)
+class ReactiveUserControllerTest {
+    private static final String USER_JSON = "{\"id\":1,\"name\":\"Вася\",\"email\":\"vasya@mail.com\"}";
+
+    private final WebTestClient webClient;
+    @MockBean
+    private ReactiveUserClient userClient;
+
+    @Autowired
+    ReactiveUserControllerTest(WebTestClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Test
+    void testGetUser() {
+        when(userClient.getUser(1L)).thenReturn(Mono.just(json(HttpStatus.OK, USER_JSON)));
+
+        webClient.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.name").isEqualTo("Вася");
+    }
+
+    @Test
+    void testServerStatusPassedThrough() {
+        when(userClient.getUser(2L)).thenReturn(Mono.just(json(HttpStatus.NOT_FOUND,
+                "{\"error\":\"Нет пользователя с id = 2\"}")));
+
+        webClient.get().uri("/users/2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Нет пользователя с id = 2");
+    }
+
+    @Test
+    void testAddUser() {
+        when(userClient.addUser(any(UserDto.class))).thenReturn(Mono.just(json(HttpStatus.CREATED, USER_JSON)));
+
+        webClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserDto("Вася", "vasya@mail.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void testAddInvalidUser() {
+        webClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserDto("Вася", "не почта"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void testUpdateUser() {
+        when(userClient.updateUser(eq(1L), any(UserUpdateDto.class)))
+                .thenReturn(Mono.just(json(HttpStatus.OK, USER_JSON)));
+
+        webClient.patch().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Вася\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo("vasya@mail.com");
+    }
+
+    @Test
+    void testDeleteUser() {
+        when(userClient.deleteUser(1L)).thenReturn(Mono.just(ResponseEntity.noContent().build()));
+
+        webClient.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
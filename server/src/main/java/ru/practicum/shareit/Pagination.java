@@ -0,0 +1,12 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+public class Pagination {
+
+    public static void validatePage(int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры страницы: from = " + from + ", size = " + size);
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package ru.practicum.shareit.booking;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
 @Slf4j
 @RequestMapping(path = "/bookings")
-@RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectWriter ndjsonWriter;
+
+    @Autowired
+    public BookingController(BookingService bookingService, ObjectMapper mapper) {
+        this.bookingService = bookingService;
+        this.ndjsonWriter = mapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
 
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -46,20 +64,63 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                            @RequestParam(defaultValue = "ALL") BookingState state) {
-        List<BookingDto> bookings = bookingService.getUserBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam(defaultValue = "ALL") BookingState state,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "10") int size,
+                                                            @RequestParam(required = false) String cursor) {
+        Window<BookingDto> bookings = bookingService.getUserBookings(userId, state, from, size, cursor);
 
-        log.info("Возвращаются бронирования пользователя {} со статусом {}: {}", userId, state, bookings);
-        return bookings;
+        log.info("Возвращаются бронирования пользователя {} со статусом {}: {}", userId, state, bookings.getContent());
+        return toPageResponse(bookings);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(defaultValue = "ALL") BookingState state) {
-        List<BookingDto> bookings = bookingService.getBookingsForUserItems(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(defaultValue = "ALL")
+                                                                    BookingState state,
+                                                                    @RequestParam(defaultValue = "0") int from,
+                                                                    @RequestParam(defaultValue = "10") int size,
+                                                                    @RequestParam(required = false) String cursor) {
+        Window<BookingDto> bookings = bookingService.getBookingsForUserItems(userId, state, from, size, cursor);
+
+        log.info("Возвращаются бронирования вещей владельца {} со статусом {}: {}", userId, state,
+                bookings.getContent());
+        return toPageResponse(bookings);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           @RequestParam(defaultValue = "ALL") BookingState state,
+                                           HttpServletResponse response) throws IOException {
+        bookingService.exportBookingsForUserItems(userId, state, booking -> {
+            try {
+                OutputStream out = ndjsonStream(response);
+
+                ndjsonWriter.writeValue(out, booking);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        ndjsonStream(response).flush();
+        log.info("Выгружены бронирования вещей владельца {} со статусом {}", userId, state);
+    }
+
+    private static OutputStream ndjsonStream(HttpServletResponse response) throws IOException {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        return response.getOutputStream();
+    }
+
+    private ResponseEntity<List<BookingDto>> toPageResponse(Window<BookingDto> bookings) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
 
-        log.info("Возвращаются бронирования вещей владельца {} со статусом {}: {}", userId, state, bookings);
-        return bookings;
+        if (bookings.hasNext() && !bookings.isEmpty()) {
+            response.header(BookingCursor.NEXT_CURSOR_HEADER, BookingCursor.encode(bookings.getContent().getLast()));
+        }
+        return response.body(bookings.getContent());
     }
 }
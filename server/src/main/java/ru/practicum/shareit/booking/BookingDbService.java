@@ -1,9 +1,14 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Pagination;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
@@ -15,22 +20,27 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Transactional(readOnly = true)
 public class BookingDbService implements BookingService {
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final EntityManager entityManager;
 
     @Autowired
     public BookingDbService(BookingRepository bookingRepository,
                             @Qualifier("userDbService") UserService userService,
-                            @Qualifier("itemDbService") ItemService itemService) {
+                            @Qualifier("itemDbService") ItemService itemService,
+                            EntityManager entityManager) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.itemService = itemService;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -79,51 +89,54 @@ public class BookingDbService implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getUserBookings(long userId, BookingState state) {
+    public Window<BookingDto> getUserBookings(long userId, BookingState state, int from, int size, String cursor) {
         userService.validateUserId(userId);
-        List<Booking> userBookings;
+        Pagination.validatePage(from, size);
+        ScrollPosition position = BookingCursor.position(from, cursor);
+        Limit limit = Limit.of(size);
+        LocalDateTime now = LocalDateTime.now();
+        Window<Booking> userBookings;
 
         userBookings = switch (state) {
-            case ALL -> bookingRepository.findAllByUserIdOrderByStartDesc(userId);
-            case CURRENT -> bookingRepository.findCurrentByUserId(userId,
-                    LocalDateTime.now());
-            case PAST -> bookingRepository.findAllByUserIdAndEndBeforeOrderByStartDesc(userId,
-                    LocalDateTime.now());
-            case FUTURE -> bookingRepository.findAllByUserIdAndStartAfterOrderByStartDesc(userId,
-                    LocalDateTime.now());
-            case WAITING -> bookingRepository.findAllByUserIdAndStatusOrderByStartDesc(userId,
-                    BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findAllByUserIdAndStatusOrderByStartDesc(userId,
-                    BookingStatus.REJECTED);
+            case ALL -> bookingRepository.findAllByUserIdOrderByStartDescIdDesc(userId, position, limit);
+            case CURRENT -> bookingRepository
+                    .findAllByUserIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(userId,
+                            now, now, position, limit);
+            case PAST -> bookingRepository.findAllByUserIdAndEndBeforeOrderByStartDescIdDesc(userId,
+                    now, position, limit);
+            case FUTURE -> bookingRepository.findAllByUserIdAndStartAfterOrderByStartDescIdDesc(userId,
+                    now, position, limit);
+            case WAITING -> bookingRepository.findAllByUserIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findAllByUserIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.REJECTED, position, limit);
         };
-        return userBookings
-                .stream()
-                .map(BookingMapper::mapToBookingDto)
-                .toList();
+        return userBookings.map(BookingMapper::mapToBookingDto);
     }
 
     @Override
-    public List<BookingDto> getBookingsForUserItems(long userId, BookingState state) {
+    public Window<BookingDto> getBookingsForUserItems(long userId, BookingState state, int from, int size,
+                                                      String cursor) {
         userService.validateUserId(userId);
-        List<Booking> userBookings;
+        Pagination.validatePage(from, size);
+        return findBookingsForUserItems(userId, state, BookingCursor.position(from, cursor), Limit.of(size))
+                .map(BookingMapper::mapToBookingDto);
+    }
 
-        userBookings = switch (state) {
-            case ALL -> bookingRepository.findAllByItemUserIdOrderByStartDesc(userId);
-            case CURRENT -> bookingRepository.findCurrentByOwnerId(userId,
-                    LocalDateTime.now());
-            case PAST -> bookingRepository.findAllByItemUserIdAndEndBeforeOrderByStartDesc(userId,
-                    LocalDateTime.now());
-            case FUTURE -> bookingRepository.findAllByItemUserIdAndStartAfterOrderByStartDesc(userId,
-                    LocalDateTime.now());
-            case WAITING -> bookingRepository.findAllByItemUserIdAndStatusOrderByStartDesc(userId,
-                    BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findAllByItemUserIdAndStatusOrderByStartDesc(userId,
-                    BookingStatus.REJECTED);
-        };
-        return userBookings
-                .stream()
-                .map(BookingMapper::mapToBookingDto)
-                .toList();
+    @Override
+    public void exportBookingsForUserItems(long userId, BookingState state, Consumer<BookingDto> consumer) {
+        userService.validateUserId(userId);
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Booking> chunk;
+
+        do {
+            chunk = findBookingsForUserItems(userId, state, position, Limit.of(EXPORT_CHUNK_SIZE));
+            chunk.forEach(booking -> consumer.accept(BookingMapper.mapToBookingDto(booking)));
+            entityManager.clear();
+            if (!chunk.isEmpty()) {
+                position = chunk.positionAt(chunk.size() - 1);
+            }
+        } while (chunk.hasNext());
     }
 
     @Override
@@ -131,4 +144,24 @@ public class BookingDbService implements BookingService {
         return bookingRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Нет бронирования с id = " + id));
     }
+
+    private Window<Booking> findBookingsForUserItems(long userId, BookingState state,
+                                                     ScrollPosition position, Limit limit) {
+        LocalDateTime now = LocalDateTime.now();
+
+        return switch (state) {
+            case ALL -> bookingRepository.findAllByItemUserIdOrderByStartDescIdDesc(userId, position, limit);
+            case CURRENT -> bookingRepository
+                    .findAllByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(userId,
+                            now, now, position, limit);
+            case PAST -> bookingRepository.findAllByItemUserIdAndEndBeforeOrderByStartDescIdDesc(userId,
+                    now, position, limit);
+            case FUTURE -> bookingRepository.findAllByItemUserIdAndStartAfterOrderByStartDescIdDesc(userId,
+                    now, position, limit);
+            case WAITING -> bookingRepository.findAllByItemUserIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.WAITING, position, limit);
+            case REJECTED -> bookingRepository.findAllByItemUserIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.REJECTED, position, limit);
+        };
+    }
 }
@@ -1,5 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -7,41 +11,77 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByUserIdOrderByStartDesc(long userId);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByUserIdOrderByStartDescIdDesc(long userId, ScrollPosition position, Limit limit);
 
-    @Query("""
-            select b
-            from Booking as b
-            where b.user.id = ?1
-            and (?2 between b.start and b.end)
-            order by b.start desc
-            """)
-    List<Booking> findCurrentByUserId(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByUserIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+            long userId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByUserIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByUserIdAndEndBeforeOrderByStartDescIdDesc(long userId, LocalDateTime date,
+                                                                      ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByUserIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByUserIdAndStartAfterOrderByStartDescIdDesc(long userId, LocalDateTime date,
+                                                                       ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByUserIdAndStatusOrderByStartDesc(long userId, BookingStatus status);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByUserIdAndStatusOrderByStartDescIdDesc(long userId, BookingStatus status,
+                                                                   ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemUserIdOrderByStartDesc(long userId);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByItemUserIdOrderByStartDescIdDesc(long userId, ScrollPosition position, Limit limit);
 
-    @Query("""
-            select b
-            from Booking as b
-            where b.item.user.id = ?1
-            and (?2 between b.start and b.end)
-            order by b.start desc
-            """)
-    List<Booking> findCurrentByOwnerId(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByItemUserIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDescIdDesc(
+            long userId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemUserIdAndEndBeforeOrderByStartDesc(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByItemUserIdAndEndBeforeOrderByStartDescIdDesc(long userId, LocalDateTime date,
+                                                                          ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemUserIdAndStartAfterOrderByStartDesc(long userId, LocalDateTime date);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByItemUserIdAndStartAfterOrderByStartDescIdDesc(long userId, LocalDateTime date,
+                                                                           ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemUserIdAndStatusOrderByStartDesc(long userId, BookingStatus status);
+    @EntityGraph(attributePaths = {"item", "user"})
+    Window<Booking> findAllByItemUserIdAndStatusOrderByStartDescIdDesc(long userId, BookingStatus status,
+                                                                       ScrollPosition position, Limit limit);
 
-    List<Booking> findAllByItemId(long itemId);
+    @Query("""
+            select it.id as itemId,
+            (select max(b.start)
+             from Booking as b
+             where b.item = it
+             and b.status = ?2
+             and b.start < ?3
+             and b.end > ?3) as lastBooking,
+            (select min(b.start)
+             from Booking as b
+             where b.item = it
+             and b.status = ?2
+             and b.start > ?3) as nextBooking
+            from Item as it
+            where it.user.id = ?1
+            """)
+    List<ItemBookingDates> findBookingDatesByOwnerId(long userId, BookingStatus status, LocalDateTime date);
+
+    @Query("""
+            select it.id as itemId,
+            (select max(b.start)
+             from Booking as b
+             where b.item = it
+             and b.start < ?2
+             and b.end > ?2) as lastBooking,
+            (select min(b.start)
+             from Booking as b
+             where b.item = it
+             and b.start > ?2) as nextBooking
+            from Item as it
+            where it.id = ?1
+            """)
+    ItemBookingDates findBookingDatesByItemId(long itemId, LocalDateTime date);
 
     boolean existsByUserIdAndItemIdAndStatusAndEndBefore(long userId, long itemId,
                                                          BookingStatus status, LocalDateTime date);
@@ -1,10 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto getBooking(long userId, long bookingId);
@@ -13,9 +14,11 @@ public interface BookingService {
 
     BookingDto updateBooking(long userId, long bookingId, boolean approved);
 
-    List<BookingDto> getUserBookings(long userId, BookingState state);
+    Window<BookingDto> getUserBookings(long userId, BookingState state, int from, int size, String cursor);
 
-    List<BookingDto> getBookingsForUserItems(long userId, BookingState state);
+    Window<BookingDto> getBookingsForUserItems(long userId, BookingState state, int from, int size, String cursor);
+
+    void exportBookingsForUserItems(long userId, BookingState state, Consumer<BookingDto> consumer);
 
     Booking validateBookingId(long id);
 }
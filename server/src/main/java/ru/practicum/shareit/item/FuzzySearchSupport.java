@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+@Component
+@Slf4j
+public class FuzzySearchSupport {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String TRGM_INSTALLED = "select exists(select 1 from pg_extension where extname = 'pg_trgm')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean available;
+
+    @Autowired
+    public FuzzySearchSupport(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isAvailable() {
+        Boolean result = available;
+
+        if (result == null) {
+            try {
+                result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                    if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                        return false;
+                    }
+                    try (Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery(TRGM_INSTALLED)) {
+                        return resultSet.next() && resultSet.getBoolean(1);
+                    }
+                });
+            } catch (DataAccessException e) {
+                log.warn("Не удалось проверить наличие pg_trgm: {}", e.getMessage());
+                return false;
+            }
+            log.info("Нечёткий поиск вещей {}", Boolean.TRUE.equals(result) ? "доступен" : "недоступен: нет pg_trgm");
+            available = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+}
@@ -61,13 +61,26 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                     @RequestParam(name = "text") String searchQuery) {
-        List<ItemDto> searchResult = itemService.searchItems(userId, searchQuery);
+                                     @RequestParam(name = "text") String searchQuery,
+                                     @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+                                     @RequestParam(name = "from", defaultValue = "0") int from,
+                                     @RequestParam(name = "size", defaultValue = "10") int size) {
+        List<ItemDto> searchResult = itemService.searchItems(userId, searchQuery, fuzzy, from, size);
 
         log.info("Результат поиска по запросу {}: {}", searchQuery, searchResult);
         return searchResult;
     }
 
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestHeader("X-Sharer-User-Id") long userId,
+                                         @RequestParam(name = "prefix") String prefix,
+                                         @RequestParam(name = "size", defaultValue = "10") int size) {
+        List<String> names = itemService.suggestItemNames(userId, prefix, size);
+
+        log.info("Подсказки по префиксу {}: {}", prefix, names);
+        return names;
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") long userId,
                                  @PathVariable long itemId,
@@ -3,11 +3,15 @@ package ru.practicum.shareit.item;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.Pagination;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingDates;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -25,7 +29,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service("itemDbService")
 @Slf4j
@@ -36,41 +45,36 @@ public class ItemDbService implements ItemService {
     private final CommentRepository commentRepository;
     private final UserService userService;
     private final ItemRequestService itemRequestService;
+    private final ItemSearchMode searchMode;
+    private final ItemSearchIndex searchIndex;
+    private final FuzzySearchSupport fuzzySearchSupport;
 
     @Autowired
     public ItemDbService(ItemRepository itemRepository, BookingRepository bookingRepository,
                          CommentRepository commentRepository,
                          @Qualifier("userDbService") UserService userService,
-                         ItemRequestService itemRequestService) {
+                         ItemRequestService itemRequestService,
+                         @Value("${shareit.search.mode:LIKE}") ItemSearchMode searchMode,
+                         ItemSearchIndex searchIndex,
+                         FuzzySearchSupport fuzzySearchSupport) {
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.userService = userService;
         this.itemRequestService = itemRequestService;
+        this.searchMode = searchMode;
+        this.searchIndex = searchIndex;
+        this.fuzzySearchSupport = fuzzySearchSupport;
     }
 
     @Override
     public List<ItemBookingsDto> getUserItems(long userId) {
         userService.validateUserId(userId);
-        List<Booking> itemsBookings = bookingRepository
-                .findAllByItemUserIdAndStatusOrderByStartDesc(userId, BookingStatus.APPROVED);
         List<Item> userItems = itemRepository.findAllByUserId(userId);
-        LocalDateTime now = LocalDateTime.now();
-        Map<Long, LocalDateTime> lastBookingDates = new HashMap<>();
-        Map<Long, LocalDateTime> nextBookingDates = new HashMap<>();
-
-        for (Booking booking : itemsBookings) {
-            LocalDateTime last = lastBookingDates.get(booking.getItem().getId());
-            LocalDateTime next = nextBookingDates.get(booking.getItem().getId());
-
-            if (booking.getStart().isBefore(now) && booking.getEnd().isAfter(now) &&
-                    (last == null || (last.isBefore(booking.getStart())))) {
-                lastBookingDates.put(booking.getItem().getId(), booking.getStart());
-            } else if (booking.getStart().isAfter(now) &&
-                    (next == null || next.isAfter(booking.getStart()))) {
-                nextBookingDates.put(booking.getItem().getId(), booking.getStart());
-            }
-        }
+        Map<Long, ItemBookingDates> bookingDates = bookingRepository
+                .findBookingDatesByOwnerId(userId, BookingStatus.APPROVED, LocalDateTime.now())
+                .stream()
+                .collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
         List<Comment> comments = commentRepository.findAllByItemUserId(userId);
         Map<Long, List<Comment>> itemsComments = new HashMap<>();
         userItems.forEach(item -> itemsComments.put(item.getId(), new ArrayList<>()));
@@ -80,10 +84,14 @@ public class ItemDbService implements ItemService {
         }
         return userItems
                 .stream()
-                .map(item -> ItemMapper.mapToItemBookingsDto(item,
-                        itemsComments.get(item.getId()),
-                        lastBookingDates.get(item.getId()),
-                        nextBookingDates.get(item.getId())))
+                .map(item -> {
+                    ItemBookingDates dates = bookingDates.get(item.getId());
+
+                    return ItemMapper.mapToItemBookingsDto(item,
+                            itemsComments.get(item.getId()),
+                            dates == null ? null : dates.getLastBooking(),
+                            dates == null ? null : dates.getNextBooking());
+                })
                 .toList();
     }
 
@@ -92,21 +100,10 @@ public class ItemDbService implements ItemService {
         userService.validateUserId(userId);
         Item item = validateItemId(id);
         List<Comment> comments = commentRepository.findAllByItemId(id);
-        List<Booking> bookings = bookingRepository.findAllByItemId(id);
-        LocalDateTime last = null;
-        LocalDateTime next = null;
-        LocalDateTime now = LocalDateTime.now();
-
-        for (Booking booking : bookings) {
-            if (booking.getStart().isBefore(now) && booking.getEnd().isAfter(now) &&
-                    (last == null || last.isBefore(booking.getStart()))) {
-                last = booking.getStart();
-            } else if (booking.getStart().isAfter(now) &&
-                    (next == null || next.isAfter(booking.getStart()))) {
-                next = booking.getStart();
-            }
-        }
-        return ItemMapper.mapToItemBookingsDto(item, comments, last, next);
+        ItemBookingDates bookingDates = bookingRepository.findBookingDatesByItemId(id, LocalDateTime.now());
+
+        return ItemMapper.mapToItemBookingsDto(item, comments,
+                bookingDates.getLastBooking(), bookingDates.getNextBooking());
     }
 
     @Override
@@ -119,6 +116,7 @@ public class ItemDbService implements ItemService {
         }
         Item item = itemRepository.save(ItemMapper.mapToItem(itemDto, user, request));
 
+        updateSearchIndex(item);
         return ItemMapper.mapToItemDto(item, List.of());
     }
 
@@ -145,17 +143,57 @@ public class ItemDbService implements ItemService {
 
         oldItem = itemRepository.save(oldItem);
 
+        updateSearchIndex(oldItem);
         return ItemMapper.mapToItemDto(oldItem, List.of());
     }
 
     @Override
-    public List<ItemDto> searchItems(long userId, String searchQuery) {
-        return itemRepository.searchAvailableItems(searchQuery)
+    public List<ItemDto> searchItems(long userId, String searchQuery, boolean fuzzy, int from, int size) {
+        Pagination.validatePage(from, size);
+        if (fuzzy) {
+            if (!fuzzySearchSupport.isAvailable()) {
+                throw new ValidationException("Нечёткий поиск недоступен");
+            }
+            return itemRepository.searchAvailableItemsFuzzy(searchQuery, from, size)
+                    .stream()
+                    .map(item -> ItemMapper.mapToItemDto(item, List.of()))
+                    .toList();
+        }
+        if (!fuzzy && searchMode == ItemSearchMode.INDEX && searchIndex.isEnabled()) {
+            Optional<List<Long>> ids = searchIndex.search(searchQuery, from, size);
+
+            if (ids.isPresent()) {
+                return getItemsInOrder(ids.get());
+            }
+        }
+        List<Item> searchResult = switch (searchMode) {
+            case LIKE, INDEX -> itemRepository.searchAvailableItems(searchQuery, from, size);
+            case FULL_TEXT -> itemRepository.searchAvailableItemsFullText(searchQuery, from, size);
+        };
+
+        return searchResult
                 .stream()
                 .map(item -> ItemMapper.mapToItemDto(item, List.of()))
                 .toList();
     }
 
+    @Override
+    public List<String> suggestItemNames(long userId, String prefix, int size) {
+        Pagination.validatePage(0, size);
+        if (searchIndex.isEnabled()) {
+            Optional<List<String>> names = searchIndex.suggest(prefix, size);
+
+            if (names.isPresent()) {
+                return names.get();
+            }
+        }
+        String namePattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+
+        return searchMode == ItemSearchMode.FULL_TEXT
+                ? itemRepository.findAvailableNamesByPatternPostgres(namePattern, size)
+                : itemRepository.findAvailableNamesByPattern(namePattern, size);
+    }
+
     @Override
     @Transactional
     public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
@@ -177,4 +215,37 @@ public class ItemDbService implements ItemService {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Нет предмета с id = " + id));
     }
+
+    private List<ItemDto> getItemsInOrder(List<Long> ids) {
+        Map<Long, Item> items = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        ids.stream()
+                .filter(id -> !items.containsKey(id))
+                .forEach(searchIndex::remove);
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(item -> ItemMapper.mapToItemDto(item, List.of()))
+                .toList();
+    }
+
+    private void updateSearchIndex(Item item) {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchIndex.put(item);
+            }
+        });
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.RequestItem;
 
@@ -9,16 +13,65 @@ import java.util.List;
 import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Item> findAllByUserId(Long userId);
 
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderById(long id, Limit limit);
+
+    long countByAvailableTrue();
+
     @Query("""
             select it
             from Item as it
             where available = true
             and (upper(it.name) like upper(concat('%',?1,'%'))
             or upper(it.description) like upper(concat('%',?1,'%')))
+            order by it.id
+            limit ?3 offset ?2
+            """)
+    List<Item> searchAvailableItems(String searchQuery, int from, int size);
+
+    @Query(value = """
+            select it.id, it.user_id, it.name, it.description, it.available, it.request_id
+            from items as it, plainto_tsquery('russian', ?1) as query
+            where it.available = true
+            and it.search_vector @@ query
+            order by ts_rank(it.search_vector, query) desc, it.id
+            limit ?3 offset ?2
+            """, nativeQuery = true)
+    List<Item> searchAvailableItemsFullText(String searchQuery, int from, int size);
+
+    @Query(value = """
+            select it.id, it.user_id, it.name, it.description, it.available, it.request_id
+            from items as it
+            where it.available = true
+            and (?1 <% it.name or ?1 <% it.description)
+            order by greatest(word_similarity(?1, it.name), word_similarity(?1, it.description)) desc, it.id
+            limit ?3 offset ?2
+            """, nativeQuery = true)
+    List<Item> searchAvailableItemsFuzzy(String searchQuery, int from, int size);
+
+    @Query("""
+            select min(it.name)
+            from Item as it
+            where available = true
+            and lower(it.name) like ?1 escape '\\'
+            group by lower(it.name)
+            order by lower(it.name)
+            limit ?2
             """)
-    List<Item> searchAvailableItems(String searchQuery);
+    List<String> findAvailableNamesByPattern(String namePattern, int size);
+
+    @Query(value = """
+            select min(it.name collate "C")
+            from items as it
+            where it.available = true
+            and lower(it.name) collate "C" like ?1 escape '\\'
+            group by lower(it.name) collate "C"
+            order by lower(it.name) collate "C"
+            limit ?2
+            """, nativeQuery = true)
+    List<String> findAvailableNamesByPatternPostgres(String namePattern, int size);
 
     List<RequestItem> findAllByRequestId(long requestId);
 
@@ -0,0 +1,375 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+@Component
+@Slf4j
+public class ItemSearchIndex implements MeterBinder {
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final String TOKEN_DELIMITER = "[^\\p{L}\\p{N}]+";
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final int maxItems;
+    private final long retryIntervalNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong lastRebuildMillis = new AtomicLong();
+    private IndexState state;
+    private List<Predicate<IndexState>> pendingChanges;
+    private volatile long lastRebuildStart = System.nanoTime();
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled,
+                           @Value("${shareit.search.index.max-items:100000}") int maxItems,
+                           @Value("${shareit.search.index.retry-interval:1m}") Duration retryInterval) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        IndexState newState = null;
+        boolean loaded = false;
+
+        lastRebuildStart = startTime;
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            newState = load();
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.warn("Не удалось перестроить индекс поиска вещей", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    state = replayPendingChanges(newState);
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+                rebuilding.set(false);
+            }
+            rebuildCount.incrementAndGet();
+            lastRebuildMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            log.info("Индекс поиска вещей перестроен: вещей = {}, термов = {}, готов = {}",
+                    size(), termCount(), isReady());
+        }
+    }
+
+    public void put(Item item) {
+        apply(index -> index.put(item));
+    }
+
+    public void remove(long itemId) {
+        apply(index -> index.remove(itemId));
+    }
+
+    public void removeUserItems(long userId) {
+        apply(index -> index.removeUser(userId));
+    }
+
+    public Optional<List<Long>> search(String searchQuery, int from, int size) {
+        if (!lock.readLock().tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            if (state == null) {
+                return Optional.empty();
+            }
+            Set<Long> result = null;
+
+            for (String token : tokenize(searchQuery)) {
+                Set<Long> tokenIds = new HashSet<>();
+
+                state.postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(tokenIds::addAll);
+                if (result == null) {
+                    result = tokenIds;
+                } else {
+                    result.retainAll(tokenIds);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            if (result == null) {
+                return Optional.of(List.of());
+            }
+            return Optional.of(result.stream()
+                    .sorted()
+                    .skip(from)
+                    .limit(size)
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<List<String>> suggest(String prefix, int size) {
+        if (!lock.readLock().tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            if (state == null) {
+                return Optional.empty();
+            }
+            String key = nameKey(prefix);
+
+            return Optional.of(state.names.subMap(key, true, key + Character.MAX_VALUE, false)
+                    .values()
+                    .stream()
+                    .limit(size)
+                    .map(IndexedName::getName)
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return state != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state == null ? 0 : state.items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return state == null ? 0 : state.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.search.index.items", this, ItemSearchIndex::size)
+                .description("Число вещей в индексе поиска")
+                .register(registry);
+        Gauge.builder("shareit.search.index.terms", this, ItemSearchIndex::termCount)
+                .description("Число термов в индексе поиска")
+                .register(registry);
+        Gauge.builder("shareit.search.index.ready", this, index -> index.isReady() ? 1 : 0)
+                .description("Индекс поиска готов, 0 — поиск выполняется в базе данных")
+                .register(registry);
+        FunctionCounter.builder("shareit.search.index.rebuilds", rebuildCount, AtomicLong::get)
+                .description("Число перестроений индекса поиска")
+                .register(registry);
+        FunctionCounter.builder("shareit.search.index.overflows", overflowCount, AtomicLong::get)
+                .description("Число превышений размера индекса поиска")
+                .register(registry);
+        TimeGauge.builder("shareit.search.index.rebuild.duration", lastRebuildMillis, TimeUnit.MILLISECONDS,
+                        AtomicLong::get)
+                .description("Длительность последнего перестроения индекса поиска")
+                .register(registry);
+    }
+
+    private void apply(Predicate<IndexState> change) {
+        boolean ready;
+
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            if (state != null && !change.test(state)) {
+                state = onOverflow();
+            }
+            ready = state != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!ready && enabled && !rebuilding.get() && System.nanoTime() - lastRebuildStart >= retryIntervalNanos) {
+            Thread.ofVirtual().name("item-search-index-rebuild").start(this::rebuild);
+        }
+    }
+
+    private IndexState load() {
+        long availableItems = itemRepository.countByAvailableTrue();
+
+        if (availableItems > maxItems) {
+            return onOverflow();
+        }
+        IndexState newState = new IndexState();
+        List<Item> chunk = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(0,
+                Limit.of(REBUILD_CHUNK_SIZE));
+
+        while (!chunk.isEmpty()) {
+            for (Item item : chunk) {
+                if (!newState.put(item)) {
+                    return onOverflow();
+                }
+            }
+            chunk = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderById(chunk.getLast().getId(),
+                    Limit.of(REBUILD_CHUNK_SIZE));
+        }
+        return newState;
+    }
+
+    private IndexState onOverflow() {
+        overflowCount.incrementAndGet();
+        log.warn("Превышен размер индекса поиска вещей ({}), поиск выполняется в базе данных", maxItems);
+        return null;
+    }
+
+    private IndexState replayPendingChanges(IndexState newState) {
+        if (newState == null) {
+            return null;
+        }
+        for (Predicate<IndexState> change : pendingChanges) {
+            if (!change.test(newState)) {
+                return onOverflow();
+            }
+        }
+        return newState;
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+
+        for (String token : text.toLowerCase(Locale.ROOT).split(TOKEN_DELIMITER)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private class IndexState {
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private final NavigableMap<String, IndexedName> names = new TreeMap<>();
+        private final Map<Long, IndexedItem> items = new HashMap<>();
+
+        boolean put(Item item) {
+            remove(item.getId());
+            if (!item.isAvailable()) {
+                return true;
+            }
+            if (items.size() >= maxItems) {
+                return false;
+            }
+            Set<String> tokens = tokenize(item.getName() + " " + item.getDescription());
+            String nameKey = nameKey(item.getName());
+
+            items.put(item.getId(), new IndexedItem(item.getUser().getId(), item.getName(), tokens));
+            tokens.forEach(token -> postings.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId()));
+            names.computeIfAbsent(nameKey, key -> new IndexedName()).add(item.getName());
+            return true;
+        }
+
+        boolean remove(long itemId) {
+            IndexedItem indexedItem = items.remove(itemId);
+
+            if (indexedItem == null) {
+                return true;
+            }
+            String nameKey = nameKey(indexedItem.name());
+
+            if (names.get(nameKey).remove(indexedItem.name())) {
+                names.remove(nameKey);
+            }
+            for (String token : indexedItem.tokens()) {
+                Set<Long> ids = postings.get(token);
+
+                ids.remove(itemId);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+            return true;
+        }
+
+        boolean removeUser(long userId) {
+            items.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().userId() == userId)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(this::remove);
+            return true;
+        }
+    }
+
+    private record IndexedItem(long userId, String name, Set<String> tokens) {
+    }
+
+    private static class IndexedName {
+        private final NavigableMap<String, Integer> spellings = new TreeMap<>();
+
+        void add(String name) {
+            spellings.merge(name, 1, Integer::sum);
+        }
+
+        boolean remove(String name) {
+            spellings.computeIfPresent(name, (key, count) -> count == 1 ? null : count - 1);
+            return spellings.isEmpty();
+        }
+
+        String getName() {
+            return spellings.firstKey();
+        }
+    }
+}
@@ -17,7 +17,9 @@ public interface ItemService {
 
     ItemDto updateItem(long userId, ItemUpdateDto itemDto);
 
-    List<ItemDto> searchItems(long userId, String searchQuery);
+    List<ItemDto> searchItems(long userId, String searchQuery, boolean fuzzy, int from, int size);
+
+    List<String> suggestItemNames(long userId, String prefix, int size);
 
     CommentDto addComment(long userId, long itemId, CommentDto commentDto);
 
@@ -81,15 +81,34 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> searchItems(long userId, String searchQuery) {
+    public List<ItemDto> searchItems(long userId, String searchQuery, boolean fuzzy, int from, int size) {
+        if (fuzzy) {
+            throw new ValidationException("Нечёткий поиск недоступен");
+        }
         List<Item> searchResult = itemStorage.searchItems(searchQuery);
 
         return searchResult
                 .stream()
+                .skip(from)
+                .limit(size)
                 .map(item -> ItemMapper.mapToItemDto(item, List.of()))
                 .toList();
     }
 
+    @Override
+    public List<String> suggestItemNames(long userId, String prefix, int size) {
+        String lowerCase = prefix.toLowerCase();
+
+        return itemStorage.searchItems(prefix)
+                .stream()
+                .map(Item::getName)
+                .filter(name -> name.toLowerCase().startsWith(lowerCase))
+                .distinct()
+                .sorted()
+                .limit(size)
+                .toList();
+    }
+
     @Override
     public CommentDto addComment(long userId, long itemId, CommentDto commentDto) {
         return null;
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.DataConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -16,10 +24,13 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 @Transactional(readOnly = true)
 public class UserDbService implements UserService {
     private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemSearchIndex searchIndex;
+    private final UserExistenceCache userExistenceCache;
 
     @Override
     public UserDto getUser(long id) {
-        User user = validateUserId(id);
+        User user = findUser(id);
 
         return UserMapper.mapToUserDto(user);
     }
@@ -36,7 +47,7 @@ public class UserDbService implements UserService {
     @Override
     @Transactional
     public UserDto updateUser(UserUpdateDto userDto) {
-        User oldUser = validateUserId(userDto.getId());
+        User oldUser = findUser(userDto.getId());
 
         log.debug("Исходные данные пользователя: {}", oldUser);
         if (userDto.getName() != null) {
@@ -55,12 +66,30 @@ public class UserDbService implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(long id) {
         userRepository.deleteById(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Item.class);
+                entityManagerFactory.getCache().evict(ItemRequest.class);
+                if (searchIndex.isEnabled()) {
+                    searchIndex.removeUserItems(id);
+                }
+            }
+        });
     }
 
     @Override
     public User validateUserId(long id) {
+        if (!userExistenceCache.exists(id)) {
+            throw new NotFoundException("Нет пользователя с id = " + id);
+        }
+        return userRepository.getReferenceById(id);
+    }
+
+    private User findUser(long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Нет пользователя с id = " + id));
     }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.CacheConfig;
+
+@Component
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserExistenceCache {
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "!#result")
+    public boolean exists(long id) {
+        return userRepository.existsById(id);
+    }
+}
@@ -0,0 +1,13 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+  setweight(to_tsvector('russian', name), 'A') || setweight(to_tsvector('russian', description), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_vector ON items USING GIN (search_vector);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING GIN (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING GIN (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_items_name_prefix ON items ((lower(name) COLLATE "C")) WHERE available;
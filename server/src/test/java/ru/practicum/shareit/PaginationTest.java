@@ -0,0 +1,25 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaginationTest {
+
+    @Test
+    void testValidPage() {
+        assertDoesNotThrow(() -> Pagination.validatePage(0, 1));
+    }
+
+    @Test
+    void testNegativeFrom() {
+        assertThrows(ValidationException.class, () -> Pagination.validatePage(-1, 10));
+    }
+
+    @Test
+    void testNonPositiveSize() {
+        assertThrows(ValidationException.class, () -> Pagination.validatePage(0, 0));
+    }
+}
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -17,20 +22,28 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = BookingController.class)
+@WebMvcTest(controllers = BookingController.class, properties = "shareit.smile.enabled=true")
 class BookingControllerTest {
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
     private static final DateTimeFormatter formatter = DateTimeFormatter
             .ofPattern("yyyy-MM-dd'T'HH:mm:ss");
     private final MockMvc mvc;
     private final ObjectMapper mapper;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
     @MockBean
     private BookingService bookingService;
 
@@ -101,15 +114,16 @@ class BookingControllerTest {
 
     @Test
     void getUserBookings() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), any(BookingState.class)))
-                .thenReturn(List.of(bookingDto1));
+        when(bookingService.getUserBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Window.from(List.of(bookingDto1), ScrollPosition::offset, true));
 
-        mvc.perform(get("/bookings?state=FUTURE")
+        mvc.perform(get("/bookings?state=FUTURE&from=0&size=1")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .header("X-Sharer-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(BookingCursor.NEXT_CURSOR_HEADER, BookingCursor.encode(bookingDto1)))
                 .andExpect(jsonPath("$.[0].id", is(bookingDto1.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].booker.name", is(userDto.getName())))
                 .andExpect(jsonPath("$.[0].item.name", is(itemDto.getName())))
@@ -118,8 +132,8 @@ class BookingControllerTest {
 
     @Test
     void getBookingsForUserItems() throws Exception {
-        when(bookingService.getBookingsForUserItems(anyLong(), any(BookingState.class)))
-                .thenReturn(List.of(bookingDto1));
+        when(bookingService.getBookingsForUserItems(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Window.from(List.of(bookingDto1), ScrollPosition::offset, false));
 
         mvc.perform(get("/bookings/owner?state=FUTURE")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -132,4 +146,58 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.[0].item.name", is(itemDto.getName())))
                 .andExpect(jsonPath("$.[0].start", is(formatter.format(bookingDto1.getStart()))));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsForUserItemsInSmile() throws Exception {
+        when(bookingService.getBookingsForUserItems(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Window.from(List.of(bookingDto1), ScrollPosition::offset, false));
+
+        byte[] body = mvc.perform(get("/bookings/owner?state=FUTURE")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(SMILE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode bookings = smileMapper.readTree(body);
+
+        assertEquals(bookingDto1.getId(), bookings.get(0).get("id").asLong());
+        assertEquals(userDto.getName(), bookings.get(0).get("booker").get("name").asText());
+        assertEquals(formatter.format(bookingDto1.getStart()), bookings.get(0).get("start").asText());
+    }
+
+    @Test
+    void exportBookingsForUserItems() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingDto1);
+            consumer.accept(bookingDto1);
+            return null;
+        }).when(bookingService).exportBookingsForUserItems(anyLong(), any(BookingState.class), any());
+
+        String body = mvc.perform(get("/bookings/owner/export?state=ALL")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String[] lines = body.split("\n");
+
+        assertEquals(2, lines.length, "Неверное число строк");
+        assertEquals(bookingDto1.getId(), mapper.readValue(lines[0], BookingDto.class).getId(), "Неверное бронирование");
+    }
+
+    @Test
+    void exportBookingsForUnknownUser() throws Exception {
+        doThrow(new NotFoundException("Нет пользователя с id = 99"))
+                .when(bookingService).exportBookingsForUserItems(anyLong(), any(BookingState.class), any());
+
+        mvc.perform(get("/bookings/owner/export?state=ALL")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error", is("Нет пользователя с id = 99")));
+    }
+}
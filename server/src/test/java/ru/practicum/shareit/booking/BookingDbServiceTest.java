@@ -1,34 +1,45 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.FuzzySearchSupport;
 import ru.practicum.shareit.item.ItemDbService;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.ItemRequestDbService;
 import ru.practicum.shareit.user.UserDbService;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import({BookingDbService.class, UserDbService.class, ItemDbService.class, ItemRequestDbService.class})
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingDbService.class, UserDbService.class, UserExistenceCache.class, ItemDbService.class,
+        FuzzySearchSupport.class, ItemSearchIndex.class, ItemRequestDbService.class})
 class BookingDbServiceTest {
     private final BookingService bookingService;
     private final UserService userService;
     private final ItemService itemService;
+    private final TestEntityManager entityManager;
 
     private static final UserDto userDto1 = new UserDto(null, "user1", "a@mail");
     private static final UserDto userDto2 = new UserDto(null, "user2", "b@mail");
@@ -38,10 +49,12 @@ class BookingDbServiceTest {
     @Autowired
     public BookingDbServiceTest(BookingService bookingService,
                                 @Qualifier("userDbService") UserService userService,
-                                @Qualifier("itemDbService") ItemService itemService) {
+                                @Qualifier("itemDbService") ItemService itemService,
+                                TestEntityManager entityManager) {
         this.bookingService = bookingService;
         this.userService = userService;
         this.itemService = itemService;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -184,7 +197,8 @@ class BookingDbServiceTest {
         BookingDto createdBooking2 = bookingService.createBooking(user2.getId(), booking2);
         BookingDto createdBooking3 = bookingService.createBooking(user2.getId(), booking3);
 
-        List<BookingDto> userBookings = bookingService.getUserBookings(user2.getId(), BookingState.WAITING);
+        List<BookingDto> userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.WAITING, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(3, userBookings.size(), "Неверное число бронирований");
@@ -192,41 +206,85 @@ class BookingDbServiceTest {
         bookingService.updateBooking(user1.getId(), createdBooking1.getId(), false);
         bookingService.updateBooking(user1.getId(), createdBooking2.getId(), true);
 
-        userBookings = bookingService.getUserBookings(user2.getId(), BookingState.ALL);
+        userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(3, userBookings.size(), "Неверное число бронирований");
 
-        userBookings = bookingService.getUserBookings(user2.getId(), BookingState.CURRENT);
+        userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.CURRENT, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(1, userBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking1.getId(), userBookings.getFirst().getId(), "Неверное бронирование");
 
-        userBookings = bookingService.getUserBookings(user2.getId(), BookingState.PAST);
+        userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.PAST, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(1, userBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking2.getId(), userBookings.getFirst().getId(), "Неверное бронирование");
 
-        userBookings = bookingService.getUserBookings(user2.getId(), BookingState.FUTURE);
+        userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.FUTURE, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(1, userBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking3.getId(), userBookings.getFirst().getId(), "Неверное бронирование");
 
-        userBookings = bookingService.getUserBookings(user2.getId(), BookingState.REJECTED);
+        userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.REJECTED, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(1, userBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking1.getId(), userBookings.getFirst().getId(), "Неверное бронирование");
 
-        userBookings = bookingService.getUserBookings(user1.getId(), BookingState.ALL);
+        userBookings = bookingService
+                .getUserBookings(user1.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertNotNull(userBookings, "Список бронирований не возвращается");
         assertEquals(0, userBookings.size(), "Неверное число бронирований");
     }
 
+    @Test
+    void testGetUserBookingsPage() {
+        UserDto user1 = userService.createUser(userDto1);
+        UserDto user2 = userService.createUser(userDto2);
+        ItemDto item1 = itemService.createItem(user1.getId(), itemDto1);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        BookingDto createdBooking1 = bookingService.createBooking(user2.getId(),
+                new BookingCreateDto(item1.getId(), now.plusDays(3), now.plusDays(4)));
+        BookingDto createdBooking2 = bookingService.createBooking(user2.getId(),
+                new BookingCreateDto(item1.getId(), now.plusDays(2), now.plusDays(3)));
+        BookingDto createdBooking3 = bookingService.createBooking(user2.getId(),
+                new BookingCreateDto(item1.getId(), now.plusDays(2), now.plusDays(3)));
+
+        Window<BookingDto> page = bookingService.getUserBookings(user2.getId(), BookingState.ALL, 0, 2, null);
+
+        assertEquals(2, page.size(), "Неверное число бронирований");
+        assertTrue(page.hasNext(), "Не найдена следующая страница");
+        assertEquals(createdBooking1.getId(), page.getContent().get(0).getId(), "Неверное бронирование");
+        assertEquals(createdBooking3.getId(), page.getContent().get(1).getId(), "Неверное бронирование");
+
+        String cursor = BookingCursor.encode(page.getContent().getLast());
+        page = bookingService.getUserBookings(user2.getId(), BookingState.ALL, 0, 2, cursor);
+
+        assertEquals(1, page.size(), "Неверное число бронирований");
+        assertFalse(page.hasNext(), "Лишняя страница");
+        assertEquals(createdBooking2.getId(), page.getContent().getFirst().getId(), "Неверное бронирование");
+
+        page = bookingService.getUserBookings(user2.getId(), BookingState.ALL, 1, 1, null);
+
+        assertEquals(1, page.size(), "Неверное число бронирований");
+        assertEquals(createdBooking3.getId(), page.getContent().getFirst().getId(), "Неверное бронирование");
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.getUserBookings(user2.getId(), BookingState.ALL, 0, 2, "bad"));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getUserBookings(user2.getId(), BookingState.ALL, 0, 0, null));
+    }
+
     @Test
     void testGetBookingsForUserItems() {
         UserDto user1 = userService.createUser(userDto1);
@@ -248,7 +306,8 @@ class BookingDbServiceTest {
         BookingDto createdBooking3 = bookingService.createBooking(user2.getId(), booking3);
         BookingDto createdBooking4 = bookingService.createBooking(user1.getId(), booking4);
 
-        List<BookingDto> ownerBookings = bookingService.getBookingsForUserItems(user1.getId(), BookingState.WAITING);
+        List<BookingDto> ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.WAITING, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(3, ownerBookings.size(), "Неверное число бронирований");
@@ -256,36 +315,101 @@ class BookingDbServiceTest {
         bookingService.updateBooking(user1.getId(), createdBooking1.getId(), false);
         bookingService.updateBooking(user1.getId(), createdBooking2.getId(), true);
 
-        ownerBookings = bookingService.getBookingsForUserItems(user1.getId(), BookingState.ALL);
+        ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(3, ownerBookings.size(), "Неверное число бронирований");
 
-        ownerBookings = bookingService.getBookingsForUserItems(user2.getId(), BookingState.ALL);
+        ownerBookings = bookingService
+                .getBookingsForUserItems(user2.getId(), BookingState.ALL, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(1, ownerBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking4.getId(), ownerBookings.getFirst().getId(), "Неверное бронирование");
 
-        ownerBookings = bookingService.getBookingsForUserItems(user1.getId(), BookingState.PAST);
+        ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.PAST, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(1, ownerBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking2.getId(), ownerBookings.getFirst().getId(), "Неверное бронирование");
 
-        ownerBookings = bookingService.getBookingsForUserItems(user1.getId(), BookingState.FUTURE);
+        ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.FUTURE, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(1, ownerBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking3.getId(), ownerBookings.getFirst().getId(), "Неверное бронирование");
 
-        ownerBookings = bookingService.getBookingsForUserItems(user1.getId(), BookingState.REJECTED);
+        ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.REJECTED, 0, 10, null).getContent();
 
         assertNotNull(ownerBookings, "Список бронирований не возвращается");
         assertEquals(1, ownerBookings.size(), "Неверное число бронирований");
         assertEquals(createdBooking1.getId(), ownerBookings.getFirst().getId(), "Неверное бронирование");
     }
 
+    @Test
+    void testBookingListsStatementCount() {
+        UserDto user1 = userService.createUser(userDto1);
+        UserDto user2 = userService.createUser(userDto2);
+        ItemDto item1 = itemService.createItem(user1.getId(), itemDto1);
+        ItemDto item2 = itemService.createItem(user1.getId(), itemDto2);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 1; i <= 5; i++) {
+            bookingService.createBooking(user2.getId(), new BookingCreateDto(i % 2 == 0 ? item1.getId() : item2.getId(),
+                    now.plusDays(i), now.plusDays(i + 1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<BookingDto> userBookings = bookingService
+                .getUserBookings(user2.getId(), BookingState.ALL, 0, 50, null).getContent();
+
+        assertEquals(5, userBookings.size(), "Неверное число бронирований");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Лишние запросы при загрузке бронирований");
+
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookingDto> ownerBookings = bookingService
+                .getBookingsForUserItems(user1.getId(), BookingState.ALL, 0, 50, null).getContent();
+
+        assertEquals(5, ownerBookings.size(), "Неверное число бронирований");
+        assertEquals(2, statistics.getPrepareStatementCount(), "Лишние запросы при загрузке бронирований");
+    }
+
+    @Test
+    void testExportBookingsForUserItems() {
+        UserDto user1 = userService.createUser(userDto1);
+        UserDto user2 = userService.createUser(userDto2);
+        ItemDto item1 = itemService.createItem(user1.getId(), itemDto1);
+        ItemDto item2 = itemService.createItem(user1.getId(), itemDto2);
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto createdBooking1 = bookingService.createBooking(user2.getId(),
+                new BookingCreateDto(item1.getId(), now.plusDays(1), now.plusDays(2)));
+        BookingDto createdBooking2 = bookingService.createBooking(user2.getId(),
+                new BookingCreateDto(item2.getId(), now.plusDays(3), now.plusDays(4)));
+        List<BookingDto> exported = new ArrayList<>();
+
+        bookingService.exportBookingsForUserItems(user1.getId(), BookingState.ALL, exported::add);
+
+        assertEquals(2, exported.size(), "Неверное число бронирований");
+        assertEquals(createdBooking2.getId(), exported.get(0).getId(), "Неверное бронирование");
+        assertEquals(createdBooking1.getId(), exported.get(1).getId(), "Неверное бронирование");
+        assertEquals(itemDto1.getName(), exported.get(1).getItem().getName(), "Неверное название вещи");
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.exportBookingsForUserItems(user2.getId() + 1, BookingState.ALL, exported::add));
+    }
+
     @Test
     void testValidateBookingId() {
         UserDto user = userService.createUser(userDto1);
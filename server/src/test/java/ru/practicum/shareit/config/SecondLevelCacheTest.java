@@ -0,0 +1,143 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingDbService;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.FuzzySearchSupport;
+import ru.practicum.shareit.item.ItemDbService;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestDbService;
+import ru.practicum.shareit.user.UserDbService;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles({"test", "l2cache"})
+@Import({ItemDbService.class, FuzzySearchSupport.class, ItemSearchIndex.class, UserDbService.class,
+        UserExistenceCache.class, BookingDbService.class, ItemRequestDbService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private Statistics statistics;
+
+    @Autowired
+    SecondLevelCacheTest(@Qualifier("itemDbService") ItemService itemService,
+                         @Qualifier("userDbService") UserService userService,
+                         BookingService bookingService,
+                         ItemRepository itemRepository,
+                         UserRepository userRepository,
+                         EntityManagerFactory entityManagerFactory,
+                         PlatformTransactionManager transactionManager) {
+        this.itemService = itemService;
+        this.userService = userService;
+        this.bookingService = bookingService;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = transactionManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testItemRequests() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner@mail"));
+        ItemDto item = itemService.createItem(owner.getId(), new ItemDto(null, "item", "some item", true, null, null));
+
+        entityManagerFactory.getCache().evictAll();
+        long first = countStatements(() -> itemService.getItem(owner.getId(), item.getId()));
+        long second = countStatements(() -> itemService.getItem(owner.getId(), item.getId()));
+
+        assertTrue(second < first, "Вещь и пользователь не взяты из кэша второго уровня");
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0, "Нет попаданий в кэш второго уровня");
+
+        first = countStatements(() -> itemRepository.findAllByUserId(owner.getId()));
+        second = countStatements(() -> itemRepository.findAllByUserId(owner.getId()));
+
+        assertEquals(0, second, "Вещи пользователя не взяты из кэша запросов");
+        assertTrue(first > second, "Вещи пользователя не взяты из кэша запросов");
+    }
+
+    @Test
+    void testBookingRequests() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner2@mail"));
+        UserDto booker = userService.createUser(new UserDto(null, "booker", "booker@mail"));
+        ItemDto item = itemService.createItem(owner.getId(), new ItemDto(null, "item", "some item", true, null, null));
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                new BookingCreateDto(item.getId(), now.plusDays(1), now.plusDays(2)));
+
+        entityManagerFactory.getCache().evictAll();
+        long first = countStatements(() -> bookingService.getBooking(booker.getId(), booking.getId()));
+        long second = countStatements(() -> bookingService.getBooking(booker.getId(), booking.getId()));
+
+        assertTrue(second < first, "Связанные с бронированием сущности не взяты из кэша второго уровня");
+    }
+
+    @Test
+    void testDeleteUserEvictsAfterCommit() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner3@mail"));
+        ItemDto item = itemService.createItem(owner.getId(), new ItemDto(null, "item", "some item", true, null, null));
+        Cache cache = entityManagerFactory.getCache();
+
+        itemService.getItem(owner.getId(), item.getId());
+
+        assertTrue(cache.contains(Item.class, item.getId()), "Вещь не в кэше второго уровня");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.deleteUser(owner.getId());
+
+            assertTrue(cache.contains(Item.class, item.getId()), "Кэш сброшен до фиксации транзакции");
+        });
+
+        assertFalse(cache.contains(Item.class, item.getId()), "Кэш не сброшен после удаления пользователя");
+    }
+
+    private long countStatements(Runnable request) {
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
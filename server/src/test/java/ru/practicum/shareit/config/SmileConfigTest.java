@@ -0,0 +1,49 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+class SmileConfigTest {
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final MockMvc mvc;
+    @MockBean
+    private BookingService bookingService;
+
+    @Autowired
+    SmileConfigTest(MockMvc mvc) {
+        this.mvc = mvc;
+    }
+
+    @Test
+    void testJsonByDefault() throws Exception {
+        when(bookingService.getBookingsForUserItems(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset, false));
+
+        mvc.perform(get("/bookings/owner?state=FUTURE")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(SMILE, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
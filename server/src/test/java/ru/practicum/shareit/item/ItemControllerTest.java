@@ -20,6 +20,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -122,7 +123,7 @@ class ItemControllerTest {
 
     @Test
     void testSearchItems() throws Exception {
-        when(itemService.searchItems(anyLong(), anyString()))
+        when(itemService.searchItems(anyLong(), anyString(), anyBoolean(), anyInt(), anyInt()))
                 .thenReturn(List.of(itemDto1, itemDto2));
 
         mvc.perform(get("/items/search?text=asd")
@@ -139,6 +140,21 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[1].description", is(itemDto2.getDescription())));
     }
 
+    @Test
+    void testSuggestItemNames() throws Exception {
+        when(itemService.suggestItemNames(anyLong(), anyString(), anyInt()))
+                .thenReturn(List.of(itemDto1.getName(), itemDto2.getName()));
+
+        mvc.perform(get("/items/suggest?prefix=it&size=5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0]", is(itemDto1.getName())))
+                .andExpect(jsonPath("$.[1]", is(itemDto2.getName())));
+        verify(itemService).suggestItemNames(1L, "it", 5);
+    }
+
     @Test
     void addComment() throws Exception {
         when(itemService.addComment(anyLong(), anyLong(), any()))
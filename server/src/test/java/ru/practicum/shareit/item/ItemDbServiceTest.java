@@ -1,14 +1,20 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.booking.BookingDbService;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -20,21 +26,26 @@ import ru.practicum.shareit.request.ItemRequestDbService;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserDbService;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import({ItemDbService.class, UserDbService.class, BookingDbService.class, ItemRequestDbService.class})
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({ItemDbService.class, FuzzySearchSupport.class, ItemSearchIndex.class, UserDbService.class,
+        UserExistenceCache.class, BookingDbService.class, ItemRequestDbService.class, CacheConfig.class})
 class ItemDbServiceTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
     private final ItemRequestService itemRequestService;
+    private final TestEntityManager entityManager;
 
     private static final UserDto userDto1 = new UserDto(null, "user1", "a@mail");
     private static final UserDto userDto2 = new UserDto(null, "user2", "b@mail");
@@ -46,11 +57,13 @@ class ItemDbServiceTest {
     public ItemDbServiceTest(@Qualifier("itemDbService") ItemService itemService,
                              @Qualifier("userDbService") UserService userService,
                              BookingService bookingService,
-                             ItemRequestService itemRequestService) {
+                             ItemRequestService itemRequestService,
+                             TestEntityManager entityManager) {
         this.itemService = itemService;
         this.userService = userService;
         this.bookingService = bookingService;
         this.itemRequestService = itemRequestService;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -59,7 +72,7 @@ class ItemDbServiceTest {
         UserDto user2 = userService.createUser(userDto2);
         ItemDto item1 = itemService.createItem(user1.getId(), itemDto1);
         itemService.createItem(user1.getId(), itemDto2);
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         BookingCreateDto bookingDto1 = new BookingCreateDto(item1.getId(),
                 now.minusMonths(1), now.minusDays(1));
         BookingCreateDto bookingDto2 = new BookingCreateDto(item1.getId(),
@@ -102,7 +115,7 @@ class ItemDbServiceTest {
         UserDto user1 = userService.createUser(userDto1);
         UserDto user2 = userService.createUser(userDto2);
         ItemDto item1 = itemService.createItem(user1.getId(), itemDto1);
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         BookingCreateDto bookingDto1 = new BookingCreateDto(item1.getId(),
                 now.minusMonths(1), now.minusDays(1));
         BookingCreateDto bookingDto2 = new BookingCreateDto(item1.getId(),
@@ -135,6 +148,42 @@ class ItemDbServiceTest {
                 "Неверный текст комментария");
     }
 
+    @Test
+    void testItemCommentsStatementCount() {
+        UserDto owner = userService.createUser(userDto1);
+        ItemDto item = itemService.createItem(owner.getId(), itemDto1);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 1; i <= 3; i++) {
+            UserDto author = userService.createUser(new UserDto(null, "author" + i, i + "@mail"));
+            BookingDto booking = bookingService.createBooking(author.getId(),
+                    new BookingCreateDto(item.getId(), now.minusDays(i + 1), now.minusDays(i)));
+
+            bookingService.updateBooking(owner.getId(), booking.getId(), true);
+            itemService.addComment(author.getId(), item.getId(), new CommentDto(null, null, "text" + i, null));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        ItemBookingsDto itemBookings = itemService.getItem(owner.getId(), item.getId());
+
+        assertEquals(3, itemBookings.getComments().size(), "Неверное число комментариев");
+        assertEquals(3, statistics.getPrepareStatementCount(), "Лишние запросы при загрузке комментариев");
+
+        entityManager.clear();
+        statistics.clear();
+
+        List<ItemBookingsDto> userItems = itemService.getUserItems(owner.getId());
+
+        assertEquals(3, userItems.getFirst().getComments().size(), "Неверное число комментариев");
+        assertEquals(3, statistics.getPrepareStatementCount(), "Лишние запросы при загрузке комментариев");
+    }
+
     @Test
     void testCreateItemWithoutRequest() {
         UserDto user1 = userService.createUser(userDto1);
@@ -210,26 +259,68 @@ class ItemDbServiceTest {
         itemService.createItem(user1.getId(), itemDto2);
         itemService.createItem(user1.getId(), itemDto3);
 
-        List<ItemDto> search = itemService.searchItems(user1.getId(), "it");
+        List<ItemDto> search = itemService.searchItems(user1.getId(), "it", false, 0, 10);
 
         assertNotNull(search, "Список вещей не возвращается");
         assertEquals(2, search.size(), "Неверный размер списка");
 
-        search = itemService.searchItems(user1.getId(), "om");
+        search = itemService.searchItems(user1.getId(), "om", false, 0, 10);
 
         assertNotNull(search, "Список вещей не возвращается");
         assertEquals(2, search.size(), "Неверный размер списка");
 
-        search = itemService.searchItems(user1.getId(), "em2");
+        search = itemService.searchItems(user1.getId(), "em2", false, 0, 10);
 
         assertNotNull(search, "Список вещей не возвращается");
         assertEquals(1, search.size(), "Неверный размер списка");
         assertEquals("item2", search.getFirst().getName(), "Неверное название вещи");
 
-        search = itemService.searchItems(user1.getId(), "asd");
+        search = itemService.searchItems(user1.getId(), "asd", false, 0, 10);
 
         assertNotNull(search, "Список вещей не возвращается");
         assertEquals(0, search.size(), "Неверный размер списка");
+
+        search = itemService.searchItems(user1.getId(), "it", false, 1, 10);
+
+        assertEquals(1, search.size(), "Неверный размер списка");
+        assertEquals("item2", search.getFirst().getName(), "Неверное название вещи");
+
+        search = itemService.searchItems(user1.getId(), "it", false, 0, 1);
+
+        assertEquals(1, search.size(), "Неверный размер списка");
+        assertEquals("item1", search.getFirst().getName(), "Неверное название вещи");
+        assertThrows(ValidationException.class,
+                () -> itemService.searchItems(user1.getId(), "it", false, 0, 0));
+    }
+
+    @Test
+    void testFuzzySearchUnavailableWithoutTrigrams() {
+        UserDto user1 = userService.createUser(userDto1);
+        itemService.createItem(user1.getId(), itemDto1);
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> itemService.searchItems(user1.getId(), "itme", true, 0, 10));
+
+        assertEquals("Нечёткий поиск недоступен", e.getMessage(), "Неверное сообщение об ошибке");
+    }
+
+    @Test
+    void testSuggestItemNames() {
+        UserDto user1 = userService.createUser(userDto1);
+        itemService.createItem(user1.getId(), itemDto1);
+        itemService.createItem(user1.getId(), itemDto2);
+        itemService.createItem(user1.getId(), itemDto3);
+        itemService.createItem(user1.getId(), new ItemDto(null, "ITEM1", "copy", true, null, null));
+
+        List<String> names = itemService.suggestItemNames(user1.getId(), "It", 10);
+
+        assertEquals(List.of("ITEM1", "item2"), names, "Неверные подсказки");
+
+        names = itemService.suggestItemNames(user1.getId(), "item", 1);
+
+        assertEquals(List.of("ITEM1"), names, "Неверные подсказки");
+        assertThrows(ValidationException.class,
+                () -> itemService.suggestItemNames(user1.getId(), "item", 0));
     }
 
     @Test
@@ -269,4 +360,22 @@ class ItemDbServiceTest {
         assertThrows(NotFoundException.class,
                 () -> itemService.validateItemId(item.getId() + 1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidateItemIdReadsFreshItem() {
+        UserDto user = userService.createUser(userDto1);
+        ItemDto item = itemService.createItem(user.getId(), itemDto1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Item item1 = itemService.validateItemId(item.getId());
+
+        itemService.updateItem(user.getId(), new ItemUpdateDto(item.getId(), "new name", null, null));
+        entityManager.flush();
+        entityManager.clear();
+        Item item2 = itemService.validateItemId(item.getId());
+
+        assertNotSame(item1, item2, "Вещь взята из кэша");
+        assertEquals("new name", item2.getName(), "Неверное название вещи");
+    }
+}
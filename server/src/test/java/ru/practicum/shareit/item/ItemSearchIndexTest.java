@@ -0,0 +1,260 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestDbService;
+import ru.practicum.shareit.user.UserDbService;
+import ru.practicum.shareit.user.UserExistenceCache;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"shareit.search.mode=INDEX", "shareit.search.index.enabled=true",
+        "shareit.search.index.max-items=3", "shareit.search.index.retry-interval=1h"})
+@Import({ItemSearchIndex.class, ItemDbService.class, FuzzySearchSupport.class, UserDbService.class,
+        UserExistenceCache.class, ItemRequestDbService.class})
+class ItemSearchIndexTest {
+    private final ItemSearchIndex searchIndex;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRepository itemRepository;
+
+    private static final UserDto userDto = new UserDto(null, "user1", "a@mail");
+
+    @Autowired
+    public ItemSearchIndexTest(ItemSearchIndex searchIndex,
+                               @Qualifier("itemDbService") ItemService itemService,
+                               @Qualifier("userDbService") UserService userService,
+                               ItemRepository itemRepository) {
+        this.searchIndex = searchIndex;
+        this.itemService = itemService;
+        this.userService = userService;
+        this.itemRepository = itemRepository;
+    }
+
+    @Test
+    void testRebuildAndSearch() {
+        UserDto user = userService.createUser(userDto);
+        ItemDto item1 = itemService.createItem(user.getId(),
+                new ItemDto(null, "Дрель ударная", "Мощная дрель", true, null, null));
+        ItemDto item2 = itemService.createItem(user.getId(),
+                new ItemDto(null, "Дрель", "Аккумуляторная, лёгкая", true, null, null));
+        itemService.createItem(user.getId(),
+                new ItemDto(null, "Дрель", "Сломана", false, null, null));
+
+        searchIndex.rebuild();
+
+        assertEquals(2, searchIndex.size(), "Неверное число вещей в индексе");
+
+        List<ItemDto> search = itemService.searchItems(user.getId(), "ДРЕЛЬ", false, 0, 10);
+
+        assertEquals(List.of(item1.getId(), item2.getId()), search.stream().map(ItemDto::getId).toList(),
+                "Неверный результат поиска");
+        assertEquals("Мощная дрель", search.getFirst().getDescription(), "Неверное описание вещи");
+
+        search = itemService.searchItems(user.getId(), "дрель акк", false, 0, 10);
+
+        assertEquals(1, search.size(), "Неверный размер списка");
+        assertEquals(item2.getId(), search.getFirst().getId(), "Неверный id вещи");
+
+        search = itemService.searchItems(user.getId(), "дрель", false, 1, 1);
+
+        assertEquals(1, search.size(), "Неверный размер списка");
+        assertEquals(item2.getId(), search.getFirst().getId(), "Неверный id вещи");
+
+        search = itemService.searchItems(user.getId(), "сломана", false, 0, 10);
+
+        assertEquals(0, search.size(), "Неверный размер списка");
+
+        search = itemService.searchItems(user.getId(), "рель", false, 0, 10);
+
+        assertEquals(0, search.size(), "Индекс ищет по началу слова");
+        assertEquals(2, itemRepository.searchAvailableItems("рель", 0, 10).size(),
+                "LIKE ищет подстроку в любом месте");
+
+        assertThrows(ValidationException.class, () -> itemService.searchItems(user.getId(), "рель", true, 0, 10),
+                "Нечёткий поиск выполнен без pg_trgm");
+    }
+
+    @Test
+    void testSuggest() {
+        UserDto user = userService.createUser(userDto);
+        itemService.createItem(user.getId(), new ItemDto(null, "Дрель", "Мощная", true, null, null));
+        itemService.createItem(user.getId(), new ItemDto(null, "дрель", "Лёгкая", true, null, null));
+        ItemDto item = itemService.createItem(user.getId(), new ItemDto(null, "Дрезина", "Ручная", true, null, null));
+        itemService.createItem(user.getId(), new ItemDto(null, "Древо", "Сломано", false, null, null));
+
+        searchIndex.rebuild();
+
+        assertEquals(List.of("Дрезина", "Дрель"), itemService.suggestItemNames(user.getId(), "ДРЕ", 10),
+                "Неверные подсказки");
+        assertEquals(List.of("Дрезина"), itemService.suggestItemNames(user.getId(), "дре", 1),
+                "Неверные подсказки");
+
+        Item updated = itemService.validateItemId(item.getId());
+        updated.setName("Древесина");
+        searchIndex.put(updated);
+
+        assertEquals(List.of("Древесина", "Дрель"), itemService.suggestItemNames(user.getId(), "дре", 10),
+                "Неверные подсказки");
+        assertEquals(List.of(), itemService.suggestItemNames(user.getId(), "пила", 10), "Неверные подсказки");
+    }
+
+    @Test
+    void testSuggestSameWithoutIndex() {
+        UserDto user = userService.createUser(userDto);
+        ItemDto item = itemService.createItem(user.getId(), new ItemDto(null, "Дрель", "Мощная", true, null, null));
+        itemService.createItem(user.getId(), new ItemDto(null, "дрель", "Лёгкая", true, null, null));
+        itemService.createItem(user.getId(), new ItemDto(null, "Др_ель", "Опечатка", true, null, null));
+        List<String> prefixes = List.of("ДР", "др_", "др%", "дрель", "", "\\");
+        searchIndex.rebuild();
+        searchIndex.put(new Item(999L, userService.validateUserId(user.getId()), "Пила", "Лишняя", true, null));
+        assertFalse(searchIndex.isReady(), "Индекс не переполнен");
+        List<List<String>> databaseSuggestions = prefixes.stream()
+                .map(prefix -> itemService.suggestItemNames(user.getId(), prefix, 10))
+                .toList();
+
+        assertEquals(List.of("Др_ель", "Дрель"), databaseSuggestions.getFirst(), "Неверные подсказки");
+        assertEquals(List.of("Др_ель"), databaseSuggestions.get(1), "Подчёркивание не экранировано");
+        assertEquals(List.of(), databaseSuggestions.get(2), "Процент не экранирован");
+
+        searchIndex.rebuild();
+
+        assertEquals(databaseSuggestions, prefixes.stream()
+                        .map(prefix -> itemService.suggestItemNames(user.getId(), prefix, 10))
+                        .toList(),
+                "Подсказки индекса отличаются от подсказок из базы");
+
+        searchIndex.remove(item.getId());
+
+        assertEquals(List.of("Др_ель", "дрель"), itemService.suggestItemNames(user.getId(), "др", 10),
+                "Название удалённой вещи осталось в подсказках");
+    }
+
+    @Test
+    void testPut() {
+        UserDto user = userService.createUser(userDto);
+        ItemDto itemDto = itemService.createItem(user.getId(),
+                new ItemDto(null, "Отвёртка", "Крестовая", true, null, null));
+
+        searchIndex.rebuild();
+        itemService.updateItem(user.getId(), new ItemUpdateDto(itemDto.getId(), "Пила", null, null));
+        Item item = itemService.validateItemId(itemDto.getId());
+
+        assertEquals(Optional.of(List.of(item.getId())), searchIndex.search("отвёртка", 0, 10),
+                "Индекс изменён до фиксации транзакции");
+
+        searchIndex.put(item);
+
+        assertEquals(Optional.of(List.of()), searchIndex.search("отвёртка", 0, 10), "Старое название в индексе");
+        assertEquals(Optional.of(List.of(item.getId())), searchIndex.search("пил", 0, 10), "Вещь не найдена");
+
+        item.setAvailable(false);
+        searchIndex.put(item);
+
+        assertEquals(Optional.of(List.of()), searchIndex.search("пила", 0, 10), "Недоступная вещь в индексе");
+        assertEquals(0, searchIndex.size(), "Неверное число вещей в индексе");
+        assertEquals(0, searchIndex.termCount(), "Неверное число термов в индексе");
+    }
+
+    @Test
+    void testRebuildOverMaxItems() {
+        UserDto user = userService.createUser(userDto);
+
+        for (int i = 1; i <= 4; i++) {
+            itemService.createItem(user.getId(), new ItemDto(null, "item" + i, "some item", true, null, null));
+        }
+        searchIndex.rebuild();
+
+        assertEquals(0, searchIndex.size(), "Индекс превысил допустимый размер");
+        assertTrue(searchIndex.search("item1", 0, 10).isEmpty(), "Поиск по переполненному индексу");
+        assertEquals(4, itemService.searchItems(user.getId(), "item", false, 0, 10).size(),
+                "Поиск не выполнен в базе данных");
+    }
+
+    @Test
+    void testRemoveStaleItems() {
+        UserDto user = userService.createUser(userDto);
+        ItemDto itemDto = itemService.createItem(user.getId(),
+                new ItemDto(null, "Пила", "Ножовка", true, null, null));
+
+        searchIndex.rebuild();
+        searchIndex.put(new Item(999L, userService.validateUserId(user.getId()), "Пила", "Удалённая", true, null));
+
+        assertEquals(Optional.of(List.of(itemDto.getId(), 999L)), searchIndex.search("пила", 0, 10),
+                "Вещь не добавлена в индекс");
+        assertEquals(List.of(itemDto.getId()),
+                itemService.searchItems(user.getId(), "пила", false, 0, 10).stream().map(ItemDto::getId).toList(),
+                "Неверный результат поиска");
+        assertEquals(Optional.of(List.of(itemDto.getId())), searchIndex.search("пила", 0, 10),
+                "Отсутствующая в базе вещь осталась в индексе");
+
+        searchIndex.remove(itemDto.getId());
+
+        assertEquals(0, searchIndex.size(), "Неверное число вещей в индексе");
+        assertEquals(Optional.of(List.of()), searchIndex.suggest("пи", 10), "Удалённая вещь в подсказках");
+    }
+
+    @Test
+    void testPutOverMaxItems() {
+        UserDto user = userService.createUser(userDto);
+
+        for (int i = 1; i <= 3; i++) {
+            itemService.createItem(user.getId(), new ItemDto(null, "item" + i, "some item", true, null, null));
+        }
+        searchIndex.rebuild();
+        searchIndex.put(new Item(999L, userService.validateUserId(user.getId()), "item4", "some item", true, null));
+
+        assertFalse(searchIndex.isReady(), "Индекс превысил допустимый размер");
+        assertTrue(searchIndex.search("item1", 0, 10).isEmpty(), "Поиск по переполненному индексу");
+        assertEquals(3, itemService.searchItems(user.getId(), "item", false, 0, 10).size(),
+                "Поиск не выполнен в базе данных");
+
+        searchIndex.rebuild();
+
+        assertTrue(searchIndex.isReady(), "Индекс не перестроен");
+        assertEquals(3, searchIndex.size(), "Неверное число вещей в индексе");
+    }
+
+    @Test
+    void testDeleteUserItems() {
+        UserDto owner = userService.createUser(new UserDto(null, "owner", "owner@mail"));
+        UserDto user = userService.createUser(new UserDto(null, "user2", "b@mail"));
+        itemService.createItem(owner.getId(), new ItemDto(null, "Рубанок", "Ручной", true, null, null));
+        ItemDto item = itemService.createItem(user.getId(), new ItemDto(null, "Рулетка", "5 м", true, null, null));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        searchIndex.rebuild();
+
+        assertEquals(Optional.of(List.of("Рубанок", "Рулетка")), searchIndex.suggest("ру", 10),
+                "Неверные подсказки");
+
+        TestTransaction.start();
+        userService.deleteUser(owner.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(Optional.of(List.of("Рулетка")), searchIndex.suggest("ру", 10),
+                "Вещи удалённого пользователя в подсказках");
+        assertEquals(Optional.of(List.of(item.getId())), searchIndex.search("ру", 0, 10),
+                "Вещи удалённого пользователя в индексе");
+
+        TestTransaction.start();
+        userService.deleteUser(user.getId());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemBookingsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -19,6 +20,7 @@ import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
@@ -121,12 +123,17 @@ class ItemServiceImplTest {
         when(itemStorage.searchItems(anyString()))
                 .thenReturn(List.of(item1, item2));
 
-        List<ItemDto> userItems = itemService.searchItems(1L, "asd");
+        List<ItemDto> userItems = itemService.searchItems(1L, "asd", false, 0, 10);
 
         assertThat(userItems, notNullValue());
         assertThat(userItems.size(), equalTo(2));
     }
 
+    @Test
+    void testFuzzySearchUnavailable() {
+        assertThrows(ValidationException.class, () -> itemService.searchItems(1L, "asd", true, 0, 10));
+    }
+
     @Test
     void testValidateItemId() {
         when(itemStorage.getItem(anyLong()))
@@ -6,12 +6,15 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.FuzzySearchSupport;
 import ru.practicum.shareit.item.ItemDbService;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.RequestItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserDbService;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -22,7 +25,8 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
-@Import({ItemRequestDbService.class, UserDbService.class, ItemDbService.class})
+@Import({ItemRequestDbService.class, UserDbService.class, UserExistenceCache.class, ItemDbService.class,
+        FuzzySearchSupport.class, ItemSearchIndex.class})
 class ItemRequestDbServiceTest {
     private final ItemRequestService itemRequestService;
     private final ItemService itemService;
@@ -1,27 +1,44 @@
 package ru.practicum.shareit.user;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.DataConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
-@Import(UserDbService.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({UserDbService.class, UserExistenceCache.class, ItemSearchIndex.class, CacheConfig.class})
 class UserDbServiceTest {
     private final UserService userService;
+    private final CacheManager cacheManager;
+    private final TestEntityManager entityManager;
 
     private final UserDto userDto = new UserDto(null, "user", "user@mail");
 
     @Autowired
-    UserDbServiceTest(@Qualifier("userDbService") UserService userService) {
+    UserDbServiceTest(@Qualifier("userDbService") UserService userService,
+                      CacheManager cacheManager,
+                      TestEntityManager entityManager) {
         this.userService = userService;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -105,4 +122,58 @@ class UserDbServiceTest {
         assertThrows(NotFoundException.class, () -> userService.validateUserId(createdUser.getId() + 10),
                 "Возвращается пользователь по несуществующему id");
     }
+
+    @Test
+    void testValidateUserIdCache() {
+        UserDto createdUser = userService.createUser(userDto);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        CacheStats initialStats = getUsersCacheStats();
+        statistics.clear();
+
+        userService.validateUserId(createdUser.getId());
+        userService.validateUserId(createdUser.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Лишние запросы при проверке пользователя");
+        assertEquals(1, getUsersCacheStats().minus(initialStats).hitCount(), "Неверное число попаданий в кэш");
+        assertEquals(1, getUsersCacheStats().minus(initialStats).missCount(), "Неверное число промахов кэша");
+        assertEquals(Boolean.TRUE, cacheManager.getCache(CacheConfig.USERS).get(createdUser.getId()).get(),
+                "В кэше хранится не признак наличия пользователя");
+
+        userService.updateUser(new UserUpdateDto(createdUser.getId(), "new name", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("new name", userService.validateUserId(createdUser.getId()).getName(),
+                "Неверное имя пользователя");
+        assertEquals("new name", userService.getUser(createdUser.getId()).getName(), "Неверное имя пользователя");
+
+        userService.deleteUser(createdUser.getId());
+        entityManager.flush();
+
+        assertThrows(NotFoundException.class, () -> userService.validateUserId(createdUser.getId()),
+                "Кэш не сброшен после удаления");
+    }
+
+    @Test
+    void testMissingUserNotCached() {
+        long missingId = userService.createUser(userDto).getId() + 1;
+
+        assertThrows(NotFoundException.class, () -> userService.validateUserId(missingId),
+                "Возвращается пользователь по несуществующему id");
+        assertNull(cacheManager.getCache(CacheConfig.USERS).get(missingId), "Закэшировано отсутствие пользователя");
+
+        UserDto createdUser = userService.createUser(new UserDto(null, "user2", "user2@mail"));
+
+        assertEquals(missingId, createdUser.getId(), "Неверный id пользователя");
+        assertNotNull(userService.validateUserId(missingId), "Новый пользователь не найден");
+    }
+
+    private CacheStats getUsersCacheStats() {
+        return ((Cache<?, ?>) cacheManager.getCache(CacheConfig.USERS).getNativeCache()).stats();
+    }
 }
\ No newline at end of file